@@ -0,0 +1,90 @@
+package wordle.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suite and compares it against the saved baseline in
+ * benchmarks/results/baseline.tsv. The first run (or any run given "save")
+ * saves its results as the new baseline. Any other run lists every result
+ * that is more than REGRESSION_THRESHOLD slower than the baseline and exits
+ * with status 1 if there are any.
+ *
+ * Usage: java -jar target/benchmarks.jar [save] [benchmark regex]
+ */
+public class BenchmarkRunner {
+    private static final Path RESULTS = Paths.get("benchmarks", "results");
+    private static final double REGRESSION_THRESHOLD = 0.10;
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        boolean save = arguments.remove("save");
+        String include = arguments.isEmpty() ? ModelBenchmark.class.getSimpleName() : arguments.get(0);
+
+        Files.createDirectories(RESULTS);
+        Options options = new OptionsBuilder()
+            .include(include)
+            .resultFormat(ResultFormatType.JSON)
+            .result(RESULTS.resolve("latest.json").toString())
+            .build();
+
+        Map<String, Double> scores = new TreeMap<>();
+        for (RunResult result: new Runner(options).run()) {
+            scores.put(key(result), result.getPrimaryResult().getScore());
+        }
+
+        Path baselineFile = RESULTS.resolve("baseline.tsv");
+        if (save || !Files.exists(baselineFile)) {
+            List<String> lines = new ArrayList<>();
+            scores.forEach((key, score) -> lines.add(key + "\t" + score));
+            Files.write(baselineFile, lines);
+            System.out.println("Saved baseline to " + baselineFile);
+            return;
+        }
+
+        Map<String, Double> baseline = new HashMap<>();
+        for (String line: Files.readAllLines(baselineFile)) {
+            String[] parts = line.split("\t");
+            baseline.put(parts[0], Double.parseDouble(parts[1]));
+        }
+
+        int regressions = 0;
+        System.out.println();
+        System.out.println("Compared with " + baselineFile + " (ns/op, lower is better):");
+        for (Map.Entry<String, Double> entry: scores.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("  NEW         %-80s %12.1f%n", entry.getKey(), entry.getValue());
+                continue;
+            }
+
+            double change = (entry.getValue() - before) / before;
+            boolean isRegression = change > REGRESSION_THRESHOLD;
+            regressions += isRegression ? 1 : 0;
+            System.out.printf("  %-11s %-80s %12.1f -> %12.1f (%+.1f%%)%n",
+                isRegression ? "REGRESSION" : "ok", entry.getKey(), before, entry.getValue(), change * 100);
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + (int)(REGRESSION_THRESHOLD * 100) + "%");
+            System.exit(1);
+        }
+    }
+
+    private static String key(RunResult result) {
+        StringBuilder key = new StringBuilder(result.getParams().getBenchmark());
+        for (String param: new TreeSet<>(result.getParams().getParamsKeys())) {
+            key.append(' ').append(param).append('=').append(result.getParams().getParam(param));
+        }
+
+        return key.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package wordle.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handles onto the game classes. The game lives in the default package, which
+ * cannot be imported from here (and JMH does not allow benchmarks in the
+ * default package), so its methods are reached through method handles held in
+ * static finals, which the JIT compiles down to direct calls.
+ */
+final class Game {
+    static final Object[] STATUSES; // CORRECT, MISPLACED, INCORRECT
+
+    static final MethodHandle NEW_MODEL;                        // (String[]) -> Object
+    static final MethodHandle RESET;                            // (Object) -> void
+    static final MethodHandle GENERATE_GUESS_DATA;              // (Object, String) -> List
+    static final MethodHandle IS_VALID_GUESS;                   // (Object, String) -> boolean
+    static final MethodHandle MAKE_GUESS;                       // (Object, String) -> void
+    static final MethodHandle GET_ALL_CHARACTER_STATUSES;       // (Object) -> Map
+    static final MethodHandle GET_ALL_CHARACTERS_WITH_STATUS;   // (Object, Object) -> List
+
+    static {
+        try {
+            Class<?> model = Class.forName("Model");
+            Class<?> status = Class.forName("GuessStatus");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            STATUSES = status.getEnumConstants();
+
+            NEW_MODEL = lookup.unreflectConstructor(model.getConstructor(String[].class))
+                .asType(MethodType.methodType(Object.class, String[].class));
+            RESET = lookup.unreflect(model.getMethod("reset"))
+                .asType(MethodType.methodType(void.class, Object.class));
+            GENERATE_GUESS_DATA = lookup.unreflect(model.getMethod("generateGuessData", String.class))
+                .asType(MethodType.methodType(List.class, Object.class, String.class));
+            IS_VALID_GUESS = lookup.unreflect(model.getMethod("isValidGuess", String.class))
+                .asType(MethodType.methodType(boolean.class, Object.class, String.class));
+            MAKE_GUESS = lookup.unreflect(model.getMethod("makeGuess", String.class))
+                .asType(MethodType.methodType(void.class, Object.class, String.class));
+            GET_ALL_CHARACTER_STATUSES = lookup.unreflect(model.getMethod("getAllCharacterStatuses"))
+                .asType(MethodType.methodType(Map.class, Object.class));
+            GET_ALL_CHARACTERS_WITH_STATUS = lookup.unreflect(model.getMethod("getAllCharactersWithStatus", status))
+                .asType(MethodType.methodType(List.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Game() {
+    }
+}
@@ -0,0 +1,145 @@
+package wordle.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the Model methods the CLI and GUI call on every turn or
+ * keystroke. Every benchmark is run for each word-list size and each length
+ * of guess history already played before the measured call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+    private static final String[] HISTORY = { "RAISE", "CLOUT", "NYMPH", "BADGE", "FIZZY" };
+    private static final String[] CHECKED = { "AUDIO", "ATONE", "QQQQQ", "zymic", "XYLYL", "HELLO" };
+
+    /**
+     * The number of words kept from each word list, or "full" for all of them.
+     * Smaller lists are written to a temporary directory that the game is
+     * pointed at before it first loads its words; JMH forks a new JVM for
+     * every parameter combination, so each fork loads its own lists.
+     */
+    @Param({ "500", "2000", "full" })
+    public String wordListSize;
+
+    @Param({ "0", "3", "5" })
+    public int historyLength;
+
+    private Object model;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void loadWordLists() throws Throwable {
+        if (!wordListSize.equals("full")) {
+            int size = Integer.parseInt(wordListSize);
+            Path directory = Files.createTempDirectory("wordle-bench");
+            truncate("common.txt", size, directory);
+            truncate("words.txt", size, directory);
+            System.setProperty("wordle.dir", directory.toString());
+        }
+
+        model = Game.NEW_MODEL.invokeExact(new String[] { "-v" });
+        replayHistory(model, historyLength);
+    }
+
+    /**
+     * A pool of games, each replayed to the same history before every
+     * iteration, for the benchmarks that change the game. Each call takes the
+     * next game from the pool, so the replay is never timed. The benchmarks
+     * using it time batches of GAME_POOL calls as single shots, and count
+     * each batch as GAME_POOL operations so the score is still per call.
+     */
+    @State(Scope.Thread)
+    public static class FreshGames {
+        static final int GAME_POOL = 1000;
+
+        final Object[] models = new Object[GAME_POOL];
+        int next;
+
+        @Setup(Level.Trial)
+        public void create() throws Throwable {
+            for (int i = 0; i < GAME_POOL; i++) {
+                models[i] = Game.NEW_MODEL.invokeExact(new String[] { "-v" });
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset(ModelBenchmark benchmark) throws Throwable {
+            for (Object model: models) {
+                replayHistory(model, benchmark.historyLength);
+            }
+            next = 0;
+        }
+
+        Object next() {
+            return models[next++];
+        }
+    }
+
+    @Benchmark
+    public Object constructModel() throws Throwable {
+        return Game.NEW_MODEL.invokeExact(new String[] { "-v" });
+    }
+
+    @Benchmark
+    public List<?> generateGuessData() throws Throwable {
+        return (List<?>)Game.GENERATE_GUESS_DATA.invokeExact(model, "ATONE");
+    }
+
+    @Benchmark
+    public boolean isValidGuess() throws Throwable {
+        next = (next + 1) % CHECKED.length;
+        return (boolean)Game.IS_VALID_GUESS.invokeExact(model, CHECKED[next]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = FreshGames.GAME_POOL)
+    @Measurement(iterations = 20, batchSize = FreshGames.GAME_POOL)
+    @OperationsPerInvocation(FreshGames.GAME_POOL)
+    public void makeGuess(FreshGames games) throws Throwable {
+        Game.MAKE_GUESS.invokeExact(games.next(), "PLUMB");
+    }
+
+    @Benchmark
+    public Map<?, ?> getAllCharacterStatuses() throws Throwable {
+        return (Map<?, ?>)Game.GET_ALL_CHARACTER_STATUSES.invokeExact(model);
+    }
+
+    @Benchmark
+    public void getAllCharactersWithStatus(Blackhole blackhole) throws Throwable {
+        blackhole.consume((List<?>)Game.GET_ALL_CHARACTERS_WITH_STATUS.invokeExact(model, (Object)null));
+        for (Object status: Game.STATUSES) {
+            blackhole.consume((List<?>)Game.GET_ALL_CHARACTERS_WITH_STATUS.invokeExact(model, status));
+        }
+    }
+
+    private static void replayHistory(Object model, int historyLength) throws Throwable {
+        Game.RESET.invokeExact(model);
+        for (int i = 0; i < historyLength; i++) {
+            Game.MAKE_GUESS.invokeExact(model, HISTORY[i]);
+        }
+    }
+
+    private static void truncate(String filename, int size, Path directory) throws IOException {
+        try (InputStream stream = ModelBenchmark.class.getResourceAsStream("/" + filename)) {
+            String[] lines = new String(stream.readAllBytes(), StandardCharsets.US_ASCII).split("\\R");
+            Files.write(directory.resolve(filename), Arrays.asList(Arrays.copyOf(lines, Math.min(size, lines.length))));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.Arrays;
+
+/**
+ * The opponent in Absurdle mode, which never commits to a target up front.
+ * It keeps every target that is still consistent with the feedback given so
+ * far, and answers each guess by splitting them into the feedback buckets
+ * (243 for five-letter words) and keeping the largest. Ties go to any bucket other than all
+ * correct, and then to the lowest code, so the guess only wins once it is
+ * the last word left.
+ *
+ * All of the working arrays are allocated up front, so answering a guess
+ * allocates nothing.
+ */
+final class Adversary {
+    private final int wordLength;
+    private final int[] targetWords; // packed
+    private final int[] remaining; // indices into targetWords, the first remainingCount are live
+    private final int[] codes;
+    private final int[] bucketSizes;
+    private int remainingCount;
+
+    public Adversary(int[] targetWords) {
+        this(targetWords, Feedback.WORD_LENGTH);
+    }
+
+    public Adversary(int[] targetWords, int wordLength) {
+        this.wordLength = wordLength;
+        this.targetWords = targetWords;
+        this.bucketSizes = new int[Feedback.codeCount(wordLength)];
+        this.remaining = new int[targetWords.length];
+        this.codes = new int[targetWords.length];
+        reset();
+    }
+
+    /**
+     * Makes every target possible again.
+     */
+    public void reset() {
+        for (int t = 0; t < remaining.length; t++) {
+            remaining[t] = t;
+        }
+        remainingCount = remaining.length;
+    }
+
+    /**
+     * Returns the feedback code for the packed guess that keeps the most
+     * targets possible, and removes every target that would have given a
+     * different code.
+     */
+    public int respond(int packedGuess) {
+        int code = partition(packedGuess);
+
+        int kept = 0;
+        for (int i = 0; i < remainingCount; i++) {
+            if (codes[i] == code) {
+                remaining[kept++] = remaining[i];
+            }
+        }
+        remainingCount = kept;
+
+        return code;
+    }
+
+    public int remainingCount() {
+        return remainingCount;
+    }
+
+    /**
+     * Returns the packed target at the given position among those remaining.
+     */
+    public int remainingTarget(int position) {
+        return targetWords[remaining[position]];
+    }
+
+    /**
+     * Scores the guess against every remaining target, leaving the codes in
+     * codes, and returns the code of the bucket to keep.
+     */
+    private int partition(int packedGuess) {
+        Arrays.fill(bucketSizes, 0);
+        for (int i = 0; i < remainingCount; i++) {
+            int code = Feedback.score(packedGuess, targetWords[remaining[i]], wordLength);
+            codes[i] = code;
+            bucketSizes[code]++;
+        }
+
+        // Scanning codes upwards keeps the lowest code among equal buckets, and all correct is last
+        int best = 0;
+        for (int code = 1; code < bucketSizes.length; code++) {
+            if (bucketSizes[code] > bucketSizes[best]) {
+                best = code;
+            }
+        }
+
+        return best;
+    }
+}
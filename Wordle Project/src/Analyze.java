@@ -0,0 +1,170 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * The entry point to the batch analysis mode. Streams every game in the game
+ * journal through a {@link GameAnalysis} on all cores and reports the
+ * average skill and luck of the guesses, along with the throughput.
+ *
+ * One thread reads the journal into a bounded queue and one worker per core
+ * takes games from it, so memory use does not grow with the journal. A game
+ * that cannot be analyzed is counted and skipped, and if every worker has
+ * stopped the reader gives up rather than waiting on a full queue.
+ */
+public class Analyze {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int[] END = new int[0]; // tells a worker there are no more games
+    private static final long QUEUE_POLL_MILLIS = 100;
+
+    // Analyze [journal file] [threads]
+    public static void main(String[] args) {
+        Path file = args.length > 0 ? Paths.get(args[0]) : WordRepository.cacheFile(GameJournal.FILENAME);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        try (GameJournal journal = GameJournal.open(file)) {
+            new Analyze(threads).run(journal);
+        } catch (IOException | InterruptedException | IllegalArgumentException | IllegalStateException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private final int threads;
+    private final BlockingQueue<int[]> games = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong gameCount = new AtomicLong();
+    private final AtomicLong guessCount = new AtomicLong();
+    private final DoubleAdder skill = new DoubleAdder();
+    private final DoubleAdder luck = new DoubleAdder();
+    private final DoubleAdder lostInformation = new DoubleAdder();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    private final AtomicInteger runningWorkers = new AtomicInteger();
+
+    public Analyze(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed, not " + threads);
+        }
+
+        this.threads = threads;
+    }
+
+    /**
+     * Analyzes every game in the journal and prints a report.
+     */
+    public void run(GameJournal journal) throws IOException, InterruptedException {
+        WordRepository repository = WordRepository.shared();
+        int[] targetWords = repository.getPackedTargetWords();
+        repository.getSolver(); // load the feedback matrix before timing
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            GameAnalysis analysis = new GameAnalysis(repository);
+            workers[i] = new Thread(() -> work(analysis), "analyze-" + i);
+        }
+        runningWorkers.set(threads);
+        for (Thread worker: workers) {
+            worker.start();
+        }
+
+        long start = System.nanoTime();
+        try {
+            journal.forEach((targetIndex, packedGuesses, count, isWon, isHardMode) -> {
+                if (targetIndex >= targetWords.length) {
+                    return; // the target is not in common.txt, so there is nothing to compare against
+                }
+
+                // Each queued game is its packed guesses followed by its packed target and 1 for hard mode
+                int[] game = new int[count + 2];
+                System.arraycopy(packedGuesses, 0, game, 0, count);
+                game[count] = targetWords[targetIndex];
+                game[count + 1] = isHardMode ? 1 : 0;
+                put(game);
+            });
+        } finally {
+            for (int i = 0; i < threads; i++) {
+                put(END);
+            }
+        }
+
+        for (Thread worker: workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long guesses = guessCount.get();
+        System.out.printf("Games:     %d%n", gameCount.get());
+        System.out.printf("Guesses:   %d%n", guesses);
+        System.out.printf("Skill:     %.1f%% of the best expected information%n", guesses == 0 ? 0 : 100 * skill.sum() / guesses);
+        System.out.printf("Lost:      %.3f bits per guess%n", guesses == 0 ? 0 : lostInformation.sum() / guesses);
+        System.out.printf("Luck:      %+.3f bits per guess%n", guesses == 0 ? 0 : luck.sum() / guesses);
+        if (failedCount.get() > 0) {
+            System.out.printf("Failed:    %d games (first: %s)%n", failedCount.get(), firstFailure.get());
+        }
+        System.out.println();
+        System.out.printf("Time:      %.2f s (%.1f games/s, %.1f guesses/s) on %d threads%n",
+                seconds, gameCount.get() / seconds, guesses / seconds, threads);
+    }
+
+    private void work(GameAnalysis analysis) {
+        try {
+            int[] game;
+            while ((game = games.take()) != END) {
+                try {
+                    analyze(analysis, game);
+                } catch (IOException | RuntimeException e) {
+                    failedCount.incrementAndGet();
+                    firstFailure.compareAndSet(null, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            runningWorkers.decrementAndGet();
+        }
+    }
+
+    private void analyze(GameAnalysis analysis, int[] game) throws IOException {
+        int count = game.length - 2;
+        List<GuessAnalysis> guesses = analysis.analyze(game[count], game, count, game[count + 1] == 1);
+
+        double gameSkill = 0;
+        double gameLuck = 0;
+        double gameLost = 0;
+        for (GuessAnalysis guess: guesses) {
+            gameSkill += guess.skill();
+            gameLuck += guess.luck();
+            gameLost += guess.bestInformation - guess.information;
+        }
+
+        skill.add(gameSkill);
+        luck.add(gameLuck);
+        lostInformation.add(gameLost);
+        guessCount.addAndGet(guesses.size());
+        gameCount.incrementAndGet();
+    }
+
+    /**
+     * Queues a game, waiting while the queue is full for as long as any
+     * worker is still taking games from it.
+     */
+    private void put(int[] game) {
+        try {
+            while (!games.offer(game, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (runningWorkers.get() == 0) {
+                    throw new IllegalStateException("Every analysis worker has stopped", firstFailure.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing games", e);
+        }
+    }
+}
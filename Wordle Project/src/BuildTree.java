@@ -0,0 +1,27 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The entry point to the offline decision tree builder. Builds the tree of
+ * the solver's choices for every target in common.txt, using every word in
+ * words.txt and common.txt as a possible guess, and writes it next to the
+ * other cache files where hint lookups will find it.
+ */
+public class BuildTree {
+    public static void main(String[] args) {
+        try {
+            WordRepository repository = WordRepository.shared();
+            int[] guessWords = repository.getPackedGuessWords();
+            int[] targetWords = repository.getPackedTargetWords();
+            Path file = WordRepository.cacheFile(DecisionTree.FILENAME);
+
+            long start = System.nanoTime();
+            int nodeCount = DecisionTree.build(file, repository.getSolver(), repository.getFeedbackMatrix(), guessWords, targetWords);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Built %d nodes in %.2f s to %s%n", nodeCount, seconds, file);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
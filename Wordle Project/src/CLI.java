@@ -1,4 +1,5 @@
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
@@ -6,41 +7,78 @@ import java.util.Scanner;
  * The entry point to the CLI version of the game.
  */
 public class CLI {
+    private static final int SEARCH_PAGE_SIZE = 40;
+    private static final int SEARCH_WORDS_PER_LINE = 10;
+
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains("-m")) {
+            Metrics.enable(true);
+        }
+
+        if (Arrays.asList(args).contains("-b")) {
+            MultiBoardModel model = null;
+            try {
+                model = new MultiBoardModel(args);
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+            }
+
+            if (model == null) return;
+
+            new CLI(model).runMultiBoard();
+            return;
+        }
+
         Model model = null;
         try {
              model = new Model(args);
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             System.out.println(e.getMessage());
         }
 
         if (model == null) return;
 
+        try {
+            model.setJournal(GameJournal.open(WordRepository.cacheFile(GameJournal.FILENAME)));
+        } catch (IOException e) {
+            System.out.println("Games will not be recorded: " + e.getMessage());
+        }
+
         CLI cli = new CLI(model);
         cli.run();
     }
 
     private Model model;
+    private MultiBoardModel multiBoardModel;
     private Scanner input;
+    private SearchResults searchResults;
+    private int searchPage;
 
     public CLI(Model model) {
         this.model = model;
         this.input = new Scanner(System.in);
     }
 
+    public CLI(MultiBoardModel multiBoardModel) {
+        this.multiBoardModel = multiBoardModel;
+        this.input = new Scanner(System.in);
+    }
+
     /**
      * Runs a game of Wordle via the command line.
      */
     public void run() {
         System.out.println("WELCOME TO WORDLE (CLI VERSION)");
         if (model.shouldShowWord()) {
-            System.out.println("[Debug] Word to guess: " + model.getTargetWord());
+            String targetWord = model.getTargetWord();
+            System.out.println("[Debug] Word to guess: " + (targetWord == null ? "not chosen yet" : targetWord));
         }
+        System.out.println("Type search and a pattern such as A?D?O +R -E 3!S to look up words, and more for the next page.");
 
         while (model.getRemainingGuesses() > 0) {
             List<List<GuessItem>> guesses = model.getGuesses();
 
-            System.out.println("Guess #" + (guesses.size() + 1));
+            System.out.println("Guess #" + (guesses.size() + 1) + " (" + model.remainingCount() + " words left)");
             System.out.println();
             System.out.println("CHARACTERS:");
             System.out.println("Unguessed: " + model.getAllCharactersWithStatus(null));
@@ -49,14 +87,28 @@ public class CLI {
             System.out.println("Incorrect: " + model.getAllCharactersWithStatus(GuessStatus.INCORRECT));
 
             System.out.println();
-            System.out.print("Enter your guess: ");
+            System.out.print("Enter your guess (or ? for a hint): ");
 
             String guess = input.nextLine();
 
-            if (model.shouldValidateWord() && !model.isValidGuess(guess)) {
+            if (guess.trim().equals("?")) {
+                System.out.println();
+                System.out.println("Suggested guesses: " + model.suggestGuesses(5));
+                System.out.println();
+            } else if (guess.trim().toLowerCase().startsWith("search ")) {
+                search(guess.trim().substring("search ".length()));
+            } else if (guess.trim().equalsIgnoreCase("more")) {
+                System.out.println();
+                printSearchPage(searchPage + 1);
+            } else if (guess.trim().length() != model.getWordLength() || !guess.trim().matches("[a-zA-Z]+")
+                    || (model.shouldValidateWord() && !model.isValidGuess(guess))) {
                 System.out.println();
                 System.out.println("*** INVALID GUESS ***");
                 System.out.println();
+            } else if (model.hardModeViolation(guess) != null) {
+                System.out.println();
+                System.out.println("*** HARD MODE: " + model.hardModeViolation(guess).toUpperCase() + " ***");
+                System.out.println();
             } else {
                 model.makeGuess(guess);
 
@@ -79,5 +131,128 @@ public class CLI {
             System.out.println("You've run out of guesses. The word was: " + model.getTargetWord());
             System.out.println();
         }
+
+        // The analysis ranks guesses with the solver, which only knows five-letter words
+        if (model.isGameFinished() && model.getWordLength() == Feedback.WORD_LENGTH) {
+            System.out.println("ANALYSIS:");
+            for (GuessAnalysis guess: GameAnalysis.of(model)) {
+                System.out.println(guess);
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Runs a game on several boards at once via the command line. After each
+     * guess every board is printed on one line as the guess followed by its
+     * pattern, with = for a correct letter, + for a misplaced letter and -
+     * for an incorrect letter.
+     */
+    public void runMultiBoard() {
+        MultiBoardModel model = multiBoardModel;
+        int boardCount = model.getBoardCount();
+
+        System.out.println("WELCOME TO WORDLE (CLI VERSION, " + boardCount + " BOARDS)");
+        if (model.shouldShowWord()) {
+            for (int b = 0; b < boardCount; b++) {
+                System.out.println("[Debug] Board " + (b + 1) + " word to guess: " + model.getTargetWord(b));
+            }
+        }
+
+        while (!model.isGameFinished()) {
+            System.out.println("Guess #" + (model.getGuessCount() + 1) + " of " + model.getGuessesAllowed()
+                    + " (" + model.getSolvedCount() + " of " + boardCount + " boards solved)");
+            System.out.print("Enter your guess (or ? for a hint): ");
+
+            String guess = input.nextLine();
+
+            if (guess.trim().equals("?")) {
+                System.out.println();
+                System.out.println("Suggested guesses: " + model.suggestGuesses(5));
+                System.out.println();
+            } else if (guess.trim().length() != Feedback.WORD_LENGTH || !guess.trim().matches("[a-zA-Z]+")
+                    || (model.shouldValidateWord() && !model.isValidGuess(guess.trim()))) {
+                System.out.println();
+                System.out.println("*** INVALID GUESS ***");
+                System.out.println();
+            } else {
+                model.makeGuess(guess.trim());
+
+                int row = model.getGuessCount() - 1;
+                System.out.println();
+                for (int b = 0; b < boardCount; b++) {
+                    System.out.println(String.format("Board %2d  ", b + 1) + describeBoardRow(model, b, row));
+                }
+                System.out.println();
+            }
+        }
+
+        if (model.isGameWon()) {
+            System.out.println("You solved all " + boardCount + " boards in " + model.getGuessCount() + " guesses");
+        } else {
+            System.out.println("You've run out of guesses. The words were:");
+            for (int b = 0; b < boardCount; b++) {
+                System.out.println(String.format("Board %2d  ", b + 1) + model.getTargetWord(b));
+            }
+        }
+        System.out.println();
+    }
+
+    private void search(String query) {
+        try {
+            searchResults = model.searchWords(query);
+        } catch (IllegalArgumentException e) {
+            System.out.println();
+            System.out.println("*** " + e.getMessage().toUpperCase() + " ***");
+            System.out.println();
+            return;
+        }
+
+        System.out.println();
+        System.out.println(searchResults.count() + " matching words");
+        printSearchPage(0);
+    }
+
+    /**
+     * Prints one page of the last search, several words to a line.
+     */
+    private void printSearchPage(int page) {
+        if (searchResults == null || page * SEARCH_PAGE_SIZE >= searchResults.count()) {
+            System.out.println("No more matching words");
+            System.out.println();
+            return;
+        }
+
+        searchPage = page;
+        List<String> words = searchResults.page(page, SEARCH_PAGE_SIZE);
+        for (int i = 0; i < words.size(); i += SEARCH_WORDS_PER_LINE) {
+            System.out.println(String.join(" ", words.subList(i, Math.min(i + SEARCH_WORDS_PER_LINE, words.size()))));
+        }
+
+        int shown = page * SEARCH_PAGE_SIZE + words.size();
+        if (shown < searchResults.count()) {
+            System.out.println("(" + (searchResults.count() - shown) + " more)");
+        }
+        System.out.println();
+    }
+
+    private static String describeBoardRow(MultiBoardModel model, int board, int row) {
+        List<GuessItem> items = model.getBoardRow(board, row);
+        if (items == null) {
+            return "solved on guess " + (model.getSolvedAt(board) + 1);
+        }
+
+        StringBuilder word = new StringBuilder();
+        StringBuilder pattern = new StringBuilder();
+        for (GuessItem item: items) {
+            word.append(item.value);
+            pattern.append(item.status == GuessStatus.CORRECT ? '=' : item.status == GuessStatus.MISPLACED ? '+' : '-');
+        }
+
+        if (model.isSolved(board)) {
+            return word + "  " + pattern + "  solved";
+        }
+
+        return word + "  " + pattern + "  (" + model.remainingCount(board) + " words left)";
     }
 }
@@ -0,0 +1,207 @@
+/**
+ * An immutable index over the possible target words. For every position and
+ * letter it holds a bitset of the targets with that letter at that position,
+ * and for every letter and count n a bitset of the targets containing at
+ * least n copies of the letter. Feedback for a guess can then be applied to
+ * a {@link CandidateSet} with a handful of word-wide AND operations. The
+ * targets are five-letter words unless another length is given.
+ */
+final class CandidateIndex {
+    private static final int LETTERS = 26;
+
+    private final int wordLength;
+    private final int targetCount;
+    private final long[] all;
+    private final long[][] letterAtPosition; // [position * 26 + letter]
+    private final long[][] letterAtLeast; // [letter * (wordLength + 2) + n], targets with at least n copies of letter
+
+    public CandidateIndex(int[] packedTargets) {
+        this(packedTargets, Feedback.WORD_LENGTH);
+    }
+
+    public CandidateIndex(int[] packedTargets, int wordLength) {
+        this.wordLength = wordLength;
+        this.targetCount = packedTargets.length;
+        int length = (targetCount + 63) >>> 6;
+
+        all = new long[length];
+        letterAtPosition = new long[wordLength * LETTERS][length];
+        letterAtLeast = new long[LETTERS * (wordLength + 2)][length];
+
+        for (int t = 0; t < targetCount; t++) {
+            long bit = 1L << t;
+            int word = t >>> 6;
+            int[] counts = new int[LETTERS];
+            all[word] |= bit;
+
+            for (int i = 0; i < wordLength; i++) {
+                int letter = Feedback.letterIndexAt(packedTargets[t], i);
+                letterAtPosition[i * LETTERS + letter][word] |= bit;
+                counts[letter]++;
+            }
+
+            for (int letter = 0; letter < LETTERS; letter++) {
+                for (int n = 0; n <= counts[letter]; n++) {
+                    letterAtLeast[letter * (wordLength + 2) + n][word] |= bit;
+                }
+            }
+        }
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int getTargetCount() {
+        return targetCount;
+    }
+
+    /**
+     * Returns a new candidate set in which every target is still possible.
+     */
+    public CandidateSet newCandidateSet() {
+        return new CandidateSet(this);
+    }
+
+    long[] all() {
+        return all;
+    }
+
+    long[] letterAtPosition(int position, int letter) {
+        return letterAtPosition[position * LETTERS + letter];
+    }
+
+    long[] letterAtLeast(int letter, int n) {
+        return letterAtLeast[letter * (wordLength + 2) + n];
+    }
+}
+
+/**
+ * The targets from a {@link CandidateIndex} that are still consistent with
+ * the feedback seen in one game.
+ */
+final class CandidateSet {
+    private final CandidateIndex index;
+    private final long[] remaining;
+    private boolean isNarrowed = false; // while false every target is possible and remaining is stale
+    private int remainingCount;
+
+    CandidateSet(CandidateIndex index) {
+        this.index = index;
+        this.remaining = new long[index.all().length];
+        this.remainingCount = index.getTargetCount();
+    }
+
+    /**
+     * Makes every target possible again. This does not touch the bitset.
+     */
+    public void reset() {
+        isNarrowed = false;
+        remainingCount = index.getTargetCount();
+    }
+
+    /**
+     * Removes every target that would not have produced the given feedback
+     * code for the given packed guess.
+     */
+    public void narrow(int packedGuess, int code) {
+        if (!isNarrowed) {
+            System.arraycopy(index.all(), 0, remaining, 0, remaining.length);
+            isNarrowed = true;
+        }
+
+        int wordLength = index.getWordLength();
+        for (int i = 0; i < wordLength; i++) {
+            int letter = Feedback.letterIndexAt(packedGuess, i);
+
+            if (Feedback.statusAt(code, i) == GuessStatus.CORRECT) {
+                and(index.letterAtPosition(i, letter));
+            } else {
+                andNot(index.letterAtPosition(i, letter));
+            }
+
+            if (isRepeatedBefore(packedGuess, i)) {
+                continue;
+            }
+
+            // The tiles for this letter give the minimum count, and an exact one if any is incorrect
+            int found = 0;
+            boolean isExact = false;
+            for (int j = i; j < wordLength; j++) {
+                if (Feedback.letterIndexAt(packedGuess, j) == letter) {
+                    if (Feedback.statusAt(code, j) == GuessStatus.INCORRECT) {
+                        isExact = true;
+                    } else {
+                        found++;
+                    }
+                }
+            }
+
+            if (found > 0) {
+                and(index.letterAtLeast(letter, found));
+            }
+            if (isExact) {
+                andNot(index.letterAtLeast(letter, found + 1));
+            }
+        }
+
+        remainingCount = 0;
+        for (long word: remaining) {
+            remainingCount += Long.bitCount(word);
+        }
+    }
+
+    /**
+     * Returns the number of targets that are still possible.
+     */
+    public int remainingCount() {
+        return remainingCount;
+    }
+
+    /**
+     * Returns the indices of the targets that are still possible, in order.
+     */
+    public int[] remainingCandidates() {
+        long[] bits = isNarrowed ? remaining : index.all();
+        int[] candidates = new int[remainingCount];
+        int n = 0;
+
+        for (int word = 0; word < bits.length; word++) {
+            long w = bits[word];
+            while (w != 0) {
+                candidates[n++] = (word << 6) + Long.numberOfTrailingZeros(w);
+                w &= w - 1;
+            }
+        }
+
+        return candidates;
+    }
+
+    public boolean isRemaining(int targetIndex) {
+        long[] bits = isNarrowed ? remaining : index.all();
+        return (bits[targetIndex >>> 6] & (1L << targetIndex)) != 0;
+    }
+
+    private void and(long[] bits) {
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] &= bits[i];
+        }
+    }
+
+    private void andNot(long[] bits) {
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] &= ~bits[i];
+        }
+    }
+
+    private static boolean isRepeatedBefore(int packedGuess, int position) {
+        int letter = Feedback.letterIndexAt(packedGuess, position);
+        for (int j = 0; j < position; j++) {
+            if (Feedback.letterIndexAt(packedGuess, j) == letter) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
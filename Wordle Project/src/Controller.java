@@ -1,41 +1,128 @@
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
 import javax.swing.*;
 
 /**
  * The Controller in the GUI version of the game. This class sends messages
  * from the view to the model and implements some logic specific to the GUI
  * version of the game.
+ *
+ * The model is owned by a {@link GameLoop}: every message from the view is
+ * queued to the loop thread, and anything sent back to the view is passed
+ * to the event dispatch thread.
  */
 public class Controller {
-    private Model model;
-    private RootView view;
+    private static final System.Logger LOGGER = System.getLogger("wordle");
 
+    private GameLoop loop;
+    private GameView view;
+    private InputTrace.Recorder recorder;
+
+    /**
+     * Returns the window, or null if the controller was given a view that
+     * is not one.
+     */
     public JFrame getView() {
-        return view;
+        return view instanceof JFrame ? (JFrame)view : null;
+    }
+
+    public GameState getState() {
+        return loop.getState();
+    }
+
+    /**
+     * Returns false once the game loop has died and no longer applies input.
+     */
+    public boolean isLoopAlive() {
+        return loop.isAlive();
     }
 
     public Controller(Model model) {
-        this.model = model;
-        this.view = new RootView(this::startNewGame, this::entryReceived);
-        model.addObserver(view);
-        
+        this(model, RootView::new);
+    }
+
+    /**
+     * Creates a controller driving the view made by the factory, which is
+     * given the callbacks a view uses to send input to the controller.
+     */
+    Controller(Model model, GameView.Factory viewFactory) {
+        this.loop = new GameLoop(model);
+        this.view = viewFactory.create(model.getWordLength(), this::startNewGame, this::hintRequested, this::entryReceived, this::searchRequested);
+        model.addListener(view);
+        view.showWordsLeft(loop.getState().remainingCount);
+
         if (model.shouldShowWord()) {
-            System.out.println("Target word = " + model.getTargetWord());
+            LOGGER.log(System.Logger.Level.INFO, "Target word = {0}", model.getTargetWord());
         }
+
+        loop.start();
     }
 
-    private void startNewGame() {
-        model.reset();
+    /**
+     * Records every entry and new game from now on in the trace.
+     */
+    public void recordTo(InputTrace.Recorder recorder) {
+        this.recorder = recorder;
+    }
 
-        if (model.shouldShowWord()) {
-            System.out.println("Target word = " + model.getTargetWord());
+    private void startNewGame() {
+        if (recorder != null) {
+            try {
+                recorder.newGame();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
+
+        loop.submit(model -> {
+            model.reset();
+
+            if (model.shouldShowWord()) {
+                LOGGER.log(System.Logger.Level.INFO, "Target word = {0}", model.getTargetWord());
+            }
+        });
+    }
+
+    private void hintRequested() {
+        loop.submit(model -> {
+            if (model.isGameFinished()) {
+                return;
+            }
+
+            List<String> suggestions = model.suggestGuesses(3);
+            EventQueue.invokeLater(() -> view.showHint(suggestions));
+        });
+    }
+
+    private void searchRequested(String query) {
+        loop.submit(model -> {
+            try {
+                SearchResults results = model.searchWords(query);
+                EventQueue.invokeLater(() -> view.showSearchResults(results));
+            } catch (IllegalArgumentException e) {
+                EventQueue.invokeLater(() -> view.showSearchError(e.getMessage()));
+            }
+        });
     }
 
     private void entryReceived(Entry entry) {
         assert entry != null : "Entry must be non-null";
 
-        System.out.println(entry);
+        if (recorder != null) {
+            try {
+                recorder.entry(entry);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
 
+        loop.submit(model -> applyEntry(model, entry));
+    }
+
+    private void applyEntry(Model model, Entry entry) {
         if (model.isGameFinished()) {
             return;
         }
@@ -45,25 +132,53 @@ public class Controller {
         if (entry == Entry.BACKSPACE && !guessInProgress.isEmpty()) {
             guessInProgress = guessInProgress.substring(0, guessInProgress.length() - 1);
         }
-        else if (entry == Entry.ENTER && guessInProgress.length() == 5) {
-            view.showWarning(null);
-
-            if (model.shouldValidateWord()) {
-                if (model.isValidGuess(guessInProgress)) {
-                    model.makeGuess(guessInProgress);
-                } else {
-                    view.showWarning("Word not in word list.");
-                }
+        else if (entry == Entry.ENTER && guessInProgress.length() == model.getWordLength()) {
+            showWarning(null);
+
+            String violation = model.hardModeViolation(guessInProgress);
+
+            if (model.shouldValidateWord() && !model.isValidGuess(guessInProgress)) {
+                showWarning("Word not in word list.");
+            } else if (violation != null) {
+                showWarning(violation + ".");
             } else {
                 model.makeGuess(guessInProgress);
             }
 
             guessInProgress = "";
         }
-        else if (entry != Entry.ENTER && entry != Entry.BACKSPACE) {
+        else if (entry != Entry.ENTER && entry != Entry.BACKSPACE && guessInProgress.length() < model.getWordLength()) {
             guessInProgress += entry.name();
         }
 
         model.setGuessInProgress(guessInProgress);
     }
+
+    private void showWarning(String warning) {
+        EventQueue.invokeLater(() -> view.showWarning(warning));
+    }
+}
+
+/**
+ * What the {@link Controller} needs from a view of a single game. The view
+ * is also sent every change to the model.
+ */
+interface GameView extends GameListener {
+    void showWordsLeft(int count);
+
+    void showWarning(String warning);
+
+    void showHint(List<String> suggestions);
+
+    void showSearchResults(SearchResults results);
+
+    void showSearchError(String error);
+
+    /**
+     * Makes a view for words of the given length, given the callbacks it
+     * should send input to.
+     */
+    interface Factory {
+        GameView create(int wordLength, Runnable onNewGameClicked, Runnable onHintClicked, Consumer<Entry> onEntryChosen, Consumer<String> onSearch);
+    }
 }
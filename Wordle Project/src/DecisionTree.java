@@ -0,0 +1,214 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+
+/**
+ * A precomputed tree of the solver's choices for every possible game. Each
+ * node holds the guess the solver would play and one child for every
+ * feedback code that guess can get back (apart from all correct), so the
+ * hint after any sequence of solver guesses is found by following one child
+ * per guess made.
+ *
+ * The tree is a flat array of ints, memory-mapped from a file built offline
+ * by {@link BuildTree}. A node at offset n is laid out as:
+ *
+ *   n       guess index (see {@link WordRepository#getPackedGuessWords})
+ *   n + 1   number of children, c
+ *   n + 2   the feedback codes of the children, one byte each, in ascending
+ *           order and packed four to an int
+ *   ...     the offsets of the c children, in the same order
+ *
+ * The root is at offset 0. The file header records the sizes and a hash of
+ * both word lists, as for {@link FeedbackMatrix}.
+ */
+final class DecisionTree {
+    public static final String FILENAME = "decision.tree";
+
+    private static final int MAGIC = 0x57445431; // "WDT1"
+    private static final int HEADER_SIZE = 24;
+    private static final int MAX_DEPTH = 16;
+
+    private final IntBuffer nodes;
+
+    private DecisionTree(IntBuffer nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Returns the index of the guess the solver would play after the given
+     * guesses and feedback codes, or -1 if the game has left the tree,
+     * either because a guess differed from the solver's or because the
+     * feedback was not possible for any target.
+     */
+    public int lookup(int[] packedGuessWords, int[] packedGuesses, int[] codes, int guessCount) {
+        int node = 0;
+
+        for (int g = 0; g < guessCount; g++) {
+            if (packedGuessWords[nodes.get(node)] != packedGuesses[g]) {
+                return -1;
+            }
+
+            node = child(node, codes[g]);
+            if (node < 0) {
+                return -1;
+            }
+        }
+
+        return nodes.get(node);
+    }
+
+    private int child(int node, int code) {
+        int childCount = nodes.get(node + 1);
+        int codeWords = (childCount + 3) >>> 2;
+
+        for (int c = 0; c < childCount; c++) {
+            int childCode = (nodes.get(node + 2 + (c >>> 2)) >>> ((c & 3) * 8)) & 0xFF;
+            if (childCode == code) {
+                return nodes.get(node + 2 + codeWords + c);
+            }
+            if (childCode > code) {
+                break;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Maps the tree file at the given path, or returns null if it is missing
+     * or was built from different word lists.
+     */
+    public static DecisionTree load(Path file, int[] packedGuesses, int[] packedTargets) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < HEADER_SIZE
+                    || buffer.getInt() != MAGIC
+                    || buffer.getInt() != packedGuesses.length
+                    || buffer.getInt() != packedTargets.length) {
+                return null;
+            }
+
+            int size = buffer.getInt();
+            if (buffer.getLong() != FeedbackMatrix.hash(packedGuesses, packedTargets) || buffer.remaining() != size * Integer.BYTES) {
+                return null;
+            }
+
+            return new DecisionTree(buffer.slice().asIntBuffer());
+        }
+    }
+
+    /**
+     * Builds the tree by asking the solver for its guess at every reachable
+     * set of candidates, and writes it to the given path.
+     */
+    public static int build(Path file, Solver solver, FeedbackMatrix matrix, int[] packedGuesses, int[] packedTargets) throws IOException {
+        Builder builder = new Builder(solver, matrix);
+        int[] candidates = new int[matrix.getTargetCount()];
+        Arrays.setAll(candidates, t -> t);
+        builder.build(candidates, 0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + builder.size * Integer.BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(packedGuesses.length);
+        buffer.putInt(packedTargets.length);
+        buffer.putInt(builder.size);
+        buffer.putLong(FeedbackMatrix.hash(packedGuesses, packedTargets));
+        buffer.asIntBuffer().put(builder.nodes, 0, builder.size);
+
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), FILENAME, ".tmp");
+        try {
+            Files.write(temporary, buffer.array());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        return builder.nodeCount;
+    }
+
+    /**
+     * Appends nodes depth first, so every subtree is contiguous.
+     */
+    private static final class Builder {
+        private final Solver solver;
+        private final FeedbackMatrix matrix;
+        private int[] nodes = new int[1 << 16];
+        private int size = 0;
+        private int nodeCount = 0;
+
+        Builder(Solver solver, FeedbackMatrix matrix) {
+            this.solver = solver;
+            this.matrix = matrix;
+        }
+
+        int build(int[] candidates, int depth) {
+            int guess = solver.rank(candidates, 1)[0];
+
+            // Split the candidates by the feedback they give for the guess
+            int[] counts = new int[Feedback.CODE_COUNT];
+            int[] codes = new int[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                codes[i] = matrix.feedback(guess, candidates[i]);
+                counts[codes[i]]++;
+            }
+            counts[Feedback.ALL_CORRECT] = 0;
+
+            int childCount = 0;
+            for (int count: counts) {
+                if (count > 0) {
+                    childCount++;
+                }
+            }
+            if (depth == MAX_DEPTH) {
+                childCount = 0;
+            }
+
+            int codeWords = (childCount + 3) >>> 2;
+            int node = reserve(2 + codeWords + childCount);
+            nodes[node] = guess;
+            nodes[node + 1] = childCount;
+            nodeCount++;
+
+            int c = 0;
+            for (int code = 0; code < Feedback.CODE_COUNT && c < childCount; code++) {
+                if (counts[code] == 0) {
+                    continue;
+                }
+
+                int[] subset = new int[counts[code]];
+                int n = 0;
+                for (int i = 0; i < candidates.length; i++) {
+                    if (codes[i] == code) {
+                        subset[n++] = candidates[i];
+                    }
+                }
+
+                nodes[node + 2 + (c >>> 2)] |= code << ((c & 3) * 8);
+                int child = build(subset, depth + 1);
+                nodes[node + 2 + codeWords + c] = child;
+                c++;
+            }
+
+            return node;
+        }
+
+        private int reserve(int length) {
+            if (size + length > nodes.length) {
+                nodes = Arrays.copyOf(nodes, Math.max(nodes.length * 2, size + length));
+            }
+
+            int offset = size;
+            size += length;
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+
+/**
+ * An immutable set of words of one length, each packed into a long (five
+ * bits per letter, first letter in the lowest bits, as in {@link Feedback})
+ * and kept in a sorted array. Lookups are a binary search and never
+ * allocate, and one dictionary can be shared by any number of games. Words
+ * of up to MAX_WORD_LENGTH letters can be held.
+ *
+ * Dictionaries are stored in a small binary file: a header followed by the
+ * packed words in ascending order. For the dictionary generated from the
+ * game's word lists, the header records the size and modification time of
+ * the text files, so the binary file is regenerated whenever one of them
+ * changes. Dictionaries written by {@link Ingest} have one file per word
+ * length and no source files.
+ */
+final class Dictionary {
+    public static final String FILENAME = "words.dict";
+    public static final int MAX_WORD_LENGTH = 12;
+
+    private static final int MAGIC = 0x57444332; // "WDC2"
+    private static final int HEADER_SIZE = 24;
+    private static final int BITS_PER_LETTER = 5;
+
+    private final int wordLength;
+    private final long[] words;
+
+    private Dictionary(int wordLength, long[] words) {
+        this.wordLength = wordLength;
+        this.words = words;
+    }
+
+    /**
+     * Creates a dictionary of five-letter words from packed words in any
+     * order, ignoring duplicates.
+     */
+    public static Dictionary of(int[] packedWords) {
+        return of(packedWords, Feedback.WORD_LENGTH);
+    }
+
+    /**
+     * Creates a dictionary of words of the given length from packed words in
+     * any order, ignoring duplicates.
+     */
+    public static Dictionary of(int[] packedWords, int wordLength) {
+        return new Dictionary(wordLength, Arrays.stream(packedWords).asLongStream().sorted().distinct().toArray());
+    }
+
+    /**
+     * Returns the name of the file {@link Ingest} writes the words of the
+     * given length to.
+     */
+    public static String ingestedFilename(int wordLength) {
+        return "words-" + wordLength + ".dict";
+    }
+
+    /**
+     * Packs a word of any length up to MAX_WORD_LENGTH (in either case)
+     * into a long. Five-letter words pack to the same value as with
+     * {@link Feedback#pack}.
+     */
+    public static long pack(CharSequence word) {
+        assert word.length() <= MAX_WORD_LENGTH : "Words cannot be longer than " + MAX_WORD_LENGTH + " letters";
+
+        long packed = 0;
+        for (int i = 0; i < word.length(); i++) {
+            packed |= (long)(Character.toUpperCase(word.charAt(i)) - 'A') << (i * BITS_PER_LETTER);
+        }
+
+        return packed;
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public boolean contains(long packedWord) {
+        return Arrays.binarySearch(words, packedWord) >= 0;
+    }
+
+    /**
+     * Returns true if the word, in either case, is in the dictionary. Words
+     * of a different length are never in the dictionary.
+     */
+    public boolean contains(CharSequence word) {
+        if (word.length() != wordLength) {
+            return false;
+        }
+
+        for (int i = 0; i < wordLength; i++) {
+            char c = Character.toUpperCase(word.charAt(i));
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+
+        return contains(pack(word));
+    }
+
+    /**
+     * Returns the words packed into ints, which only holds words of up to
+     * six letters.
+     */
+    public int[] toPackedInts() {
+        assert wordLength * BITS_PER_LETTER < Integer.SIZE : "Words are too long to pack into an int";
+
+        int[] packed = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            packed[i] = (int)words[i];
+        }
+
+        return packed;
+    }
+
+    /**
+     * Returns a dictionary holding the words of both dictionaries, which
+     * must be of the same length.
+     */
+    public Dictionary union(Dictionary other) {
+        assert other.wordLength == wordLength : "Dictionaries must have the same word length";
+
+        long[] merged = new long[words.length + other.words.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < words.length || j < other.words.length) {
+            long next = j == other.words.length || (i < words.length && words[i] <= other.words[j]) ? words[i++] : other.words[j++];
+            if (count == 0 || merged[count - 1] != next) {
+                merged[count++] = next;
+            }
+        }
+
+        return new Dictionary(wordLength, Arrays.copyOf(merged, count));
+    }
+
+    /**
+     * Loads the binary dictionary file at the given path, first generating
+     * it from the given text files (one five-letter word per line) if it is
+     * missing or out of date.
+     */
+    public static Dictionary load(Path file, Path... sources) throws IOException {
+        long signature = signature(sources);
+        Dictionary dictionary = read(file, Feedback.WORD_LENGTH, signature);
+
+        if (dictionary == null) {
+            dictionary = of(readPackedWords(sources));
+            dictionary.write(file, signature);
+        }
+
+        return dictionary;
+    }
+
+    /**
+     * Loads a dictionary written by {@link Ingest}, or returns null if the
+     * file is missing or does not hold words of the given length.
+     */
+    public static Dictionary loadIngested(Path file, int wordLength) throws IOException {
+        return read(file, wordLength, 0);
+    }
+
+    private static Dictionary read(Path file, int wordLength, long signature) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < HEADER_SIZE
+                    || buffer.getInt() != MAGIC
+                    || buffer.getInt() != wordLength) {
+                return null;
+            }
+
+            int count = buffer.getInt();
+            buffer.getInt(); // reserved
+            if (buffer.getLong() != signature || buffer.remaining() != (long)count * Long.BYTES) {
+                return null;
+            }
+
+            long[] words = new long[count];
+            buffer.asLongBuffer().get(words);
+            return new Dictionary(wordLength, words);
+        }
+    }
+
+    private void write(Path file, long signature) throws IOException {
+        try (Writer writer = new Writer(file, wordLength, signature)) {
+            for (long word: words) {
+                writer.add(word);
+            }
+            writer.commit();
+        }
+    }
+
+    private static int[] readPackedWords(Path... sources) throws IOException {
+        int[] packed = new int[1024];
+        int count = 0;
+
+        for (Path source: sources) {
+            try (BufferedReader reader = Files.newBufferedReader(source)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+
+                    if (count == packed.length) {
+                        packed = Arrays.copyOf(packed, count * 2);
+                    }
+                    packed[count++] = Feedback.pack(line);
+                }
+            }
+        }
+
+        return Arrays.copyOf(packed, count);
+    }
+
+    private static long signature(Path... sources) throws IOException {
+        long signature = 17;
+        for (Path source: sources) {
+            signature = signature * 31 + Files.size(source);
+            signature = signature * 31 + Files.getLastModifiedTime(source).toMillis();
+        }
+
+        return signature;
+    }
+
+    /**
+     * Streams packed words, which must arrive in ascending order without
+     * duplicates, into a dictionary file, so memory use does not depend on
+     * the number of words. The words go to a temporary file that is only
+     * moved into place by commit; closing the writer without committing,
+     * as when adding a word fails, deletes it and leaves any existing
+     * dictionary untouched.
+     */
+    static final class Writer implements Closeable {
+        private final Path file;
+        private final Path temporary;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        private final int wordLength;
+        private final long signature;
+        private int count = 0;
+        private boolean isCommitted = false;
+
+        Writer(Path file, int wordLength, long signature) throws IOException {
+            this.file = file;
+            this.temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            this.channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+            this.wordLength = wordLength;
+            this.signature = signature;
+
+            buffer.position(HEADER_SIZE); // the header is written last, once the count is known
+        }
+
+        public void add(long packedWord) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+
+            buffer.putLong(packedWord);
+            count++;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Writes the header and moves the finished file into place. No more
+         * words may be added afterwards.
+         */
+        public void commit() throws IOException {
+            assert !isCommitted : "The dictionary has already been committed";
+
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putInt(wordLength);
+            header.putInt(count);
+            header.putInt(0);
+            header.putLong(signature);
+            header.flip();
+            channel.write(header, 0);
+            channel.close();
+
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            isCommitted = true;
+        }
+
+        /**
+         * Releases the temporary file, deleting it unless it was committed.
+         * Closing a writer more than once has no further effect.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                if (!isCommitted) {
+                    Files.deleteIfExists(temporary);
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
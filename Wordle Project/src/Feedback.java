@@ -0,0 +1,157 @@
+/**
+ * The scoring core of the game. Words are packed into a single int (five bits
+ * per letter, first letter in the lowest bits) and the result of scoring a
+ * guess against a target is a single base-3 code between 0 and 242, where the
+ * digit for position i is 0 (incorrect), 1 (misplaced) or 2 (correct).
+ * None of the methods in this class allocate.
+ *
+ * The game is played with five-letter words by default, but words of up to
+ * MAX_WORD_LENGTH letters fit in an int, and the methods that take a length
+ * score them the same way, with codes below codeCount(length).
+ */
+final class Feedback {
+    public static final int WORD_LENGTH = 5;
+    public static final int CODE_COUNT = 243; // 3^WORD_LENGTH
+    public static final int ALL_CORRECT = CODE_COUNT - 1;
+    public static final int MAX_WORD_LENGTH = 6;
+
+    private static final int BITS_PER_LETTER = 5;
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+    private static final int[] POWERS_OF_THREE = { 1, 3, 9, 27, 81, 243, 729 };
+
+    private Feedback() {
+    }
+
+    /**
+     * Packs a word of up to MAX_WORD_LENGTH letters (in either case) into an
+     * int.
+     */
+    public static int pack(CharSequence word) {
+        assert word != null : "Word must be non-null";
+        assert word.length() <= MAX_WORD_LENGTH : "Words cannot be longer than " + MAX_WORD_LENGTH + " letters";
+
+        int packed = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = Character.toUpperCase(word.charAt(i)) - 'A';
+            assert letter >= 0 && letter < 26 : "Word must only contain alphabetic characters";
+            packed |= letter << (i * BITS_PER_LETTER);
+        }
+
+        return packed;
+    }
+
+    /**
+     * Returns the uppercase five-letter word represented by a packed int.
+     */
+    public static String unpack(int packed) {
+        return unpack(packed, WORD_LENGTH);
+    }
+
+    /**
+     * Returns the uppercase word of the given length represented by a packed
+     * int.
+     */
+    public static String unpack(int packed, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = letterAt(packed, i);
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Returns the uppercase letter at the given position of a packed word.
+     */
+    public static char letterAt(int packed, int position) {
+        return (char)('A' + letterIndexAt(packed, position));
+    }
+
+    /**
+     * Returns the letter at the given position of a packed word, with A as 0.
+     */
+    public static int letterIndexAt(int packed, int position) {
+        return (packed >>> (position * BITS_PER_LETTER)) & LETTER_MASK;
+    }
+
+    /**
+     * Returns the number of feedback codes for words of the given length.
+     */
+    public static int codeCount(int length) {
+        return POWERS_OF_THREE[length];
+    }
+
+    /**
+     * Returns the feedback code for a guess of the given length that matches
+     * the target exactly.
+     */
+    public static int allCorrect(int length) {
+        return POWERS_OF_THREE[length] - 1;
+    }
+
+    /**
+     * Scores a packed five-letter guess against a packed target. Repeated
+     * letters in the guess are only marked as misplaced while the target
+     * still has an unused copy of that letter, and correct letters are always
+     * matched first.
+     */
+    public static int score(int guess, int target) {
+        return score(guess, target, WORD_LENGTH);
+    }
+
+    /**
+     * Scores a packed guess against a packed target, both of the given
+     * length, as score does for five-letter words.
+     */
+    public static int score(int guess, int target, int length) {
+        int used = 0; // bit i is set once target position i has been matched
+
+        for (int i = 0; i < length; i++) {
+            if (letterIndexAt(guess, i) == letterIndexAt(target, i)) {
+                used |= 1 << i;
+            }
+        }
+
+        int code = 0;
+        for (int i = 0; i < length; i++) {
+            if (letterIndexAt(guess, i) == letterIndexAt(target, i)) {
+                code += 2 * POWERS_OF_THREE[i];
+                continue;
+            }
+
+            int letter = letterIndexAt(guess, i);
+            for (int j = 0; j < length; j++) {
+                if ((used & (1 << j)) == 0 && letterIndexAt(target, j) == letter) {
+                    used |= 1 << j;
+                    code += POWERS_OF_THREE[i];
+                    break;
+                }
+            }
+        }
+
+        return code;
+    }
+
+    /**
+     * Scores one packed guess against the first count packed targets, writing
+     * the code for targets[i] to codes[i]. This is how one guess is applied
+     * to every board of a multi-board game. It is a plain scalar loop over
+     * score, with a shortcut for a target equal to the guess.
+     */
+    public static void scoreAll(int guess, int[] targets, int count, int[] codes) {
+        for (int t = 0; t < count; t++) {
+            codes[t] = guess == targets[t] ? ALL_CORRECT : score(guess, targets[t]);
+        }
+    }
+
+    /**
+     * Returns the status of the given position within a feedback code.
+     */
+    public static GuessStatus statusAt(int code, int position) {
+        switch ((code / POWERS_OF_THREE[position]) % 3) {
+            case 2: return GuessStatus.CORRECT;
+            case 1: return GuessStatus.MISPLACED;
+            default: return GuessStatus.INCORRECT;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.stream.IntStream;
+
+/**
+ * A precomputed table of feedback codes (see {@link Feedback}) for every
+ * pair of allowed guess and possible target word, one byte per pair. The
+ * table is built once, written to a cache file next to the word lists and
+ * memory-mapped read-only from then on, so lookups never touch the heap.
+ *
+ * The cache file starts with a header recording the list sizes and a hash
+ * of both word lists. If either list changes the file is rebuilt.
+ */
+final class FeedbackMatrix {
+    public static final String CACHE_FILENAME = "feedback.bin";
+
+    private static final int MAGIC = 0x57464d31; // "WFM1"
+    private static final int HEADER_SIZE = 24;
+
+    private final ByteBuffer codes;
+    private final int guessCount;
+    private final int targetCount;
+
+    private FeedbackMatrix(ByteBuffer codes, int guessCount, int targetCount) {
+        this.codes = codes;
+        this.guessCount = guessCount;
+        this.targetCount = targetCount;
+    }
+
+    public int getGuessCount() {
+        return guessCount;
+    }
+
+    public int getTargetCount() {
+        return targetCount;
+    }
+
+    /**
+     * Returns the feedback code for the guess at guessIndex played against
+     * the target at targetIndex.
+     */
+    public int feedback(int guessIndex, int targetIndex) {
+        return codes.get(guessIndex * targetCount + targetIndex) & 0xFF;
+    }
+
+    /**
+     * Maps the cache file at the given path, building it first if it is
+     * missing or was built from different word lists.
+     */
+    public static FeedbackMatrix load(Path cacheFile, int[] packedGuesses, int[] packedTargets) throws IOException {
+        long hash = hash(packedGuesses, packedTargets);
+
+        if (!isCurrent(cacheFile, hash, packedGuesses.length, packedTargets.length)) {
+            build(cacheFile, hash, packedGuesses, packedTargets);
+        }
+
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.position(HEADER_SIZE);
+            return new FeedbackMatrix(buffer.slice(), packedGuesses.length, packedTargets.length);
+        }
+    }
+
+    private static boolean isCurrent(Path cacheFile, long hash, int guessCount, int targetCount) throws IOException {
+        if (!Files.isRegularFile(cacheFile)
+                || Files.size(cacheFile) != HEADER_SIZE + (long)guessCount * targetCount) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+
+            return header.remaining() == HEADER_SIZE
+                && header.getInt() == MAGIC
+                && header.getInt() == guessCount
+                && header.getInt() == targetCount
+                && header.getInt() == 0
+                && header.getLong() == hash;
+        }
+    }
+
+    private static void build(Path cacheFile, long hash, int[] packedGuesses, int[] packedTargets) throws IOException {
+        Path directory = cacheFile.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, CACHE_FILENAME, ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = HEADER_SIZE + (long)packedGuesses.length * packedTargets.length;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+                IntStream.range(0, packedGuesses.length).parallel().forEach(g -> {
+                    byte[] row = new byte[packedTargets.length];
+                    for (int t = 0; t < row.length; t++) {
+                        row[t] = (byte)Feedback.score(packedGuesses[g], packedTargets[t]);
+                    }
+                    buffer.put(HEADER_SIZE + g * packedTargets.length, row);
+                });
+
+                // The header goes in last so a half-written file is never taken as current
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, packedGuesses.length);
+                buffer.putInt(8, packedTargets.length);
+                buffer.putInt(12, 0);
+                buffer.putLong(16, hash);
+                buffer.force();
+            }
+
+            Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * A 64-bit FNV-1a hash over both packed word lists, in order.
+     */
+    static long hash(int[] packedGuesses, int[] packedTargets) {
+        long hash = 0xcbf29ce484222325L;
+        for (int[] words: new int[][] { packedGuesses, packedTargets }) {
+            hash = (hash ^ words.length) * 0x100000001b3L;
+            for (int word: words) {
+                hash = (hash ^ word) * 0x100000001b3L;
+            }
+        }
+
+        return hash;
+    }
+}
@@ -0,0 +1,81 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events for the game. They cost nothing unless a recording
+ * with the "Wordle" category enabled is running, for example:
+ *
+ *   java -XX:StartFlightRecording=filename=wordle.jfr GUI
+ */
+final class FlightEvents {
+    private FlightEvents() {
+    }
+
+    @Name("wordle.Load")
+    @Label("Word Lists Loaded")
+    @Category("Wordle")
+    @Description("Loading the word lists for a new model")
+    @StackTrace(false)
+    static final class Load extends Event {
+        @Label("Target Words")
+        int targetCount;
+    }
+
+    @Name("wordle.Validate")
+    @Label("Guess Validated")
+    @Category("Wordle")
+    @StackTrace(false)
+    static final class Validate extends Event {
+        @Label("Guess")
+        String guess;
+
+        @Label("Valid")
+        boolean isValid;
+    }
+
+    @Name("wordle.Guess")
+    @Label("Guess Made")
+    @Category("Wordle")
+    @Description("Scoring a guess and updating the state of the game")
+    @StackTrace(false)
+    static final class Guess extends Event {
+        @Label("Guess")
+        String guess;
+
+        @Label("Feedback Code")
+        int code;
+
+        @Label("Words Left")
+        int remainingCount;
+    }
+
+    @Name("wordle.Feedback")
+    @Label("Feedback Scored")
+    @Category("Wordle")
+    @Description("Scoring a guess against the target, or choosing the feedback in Absurdle mode")
+    @StackTrace(false)
+    static final class Feedback extends Event {
+        @Label("Guess")
+        String guess;
+
+        @Label("Feedback Code")
+        int code;
+
+        @Label("Chosen by Adversary")
+        boolean isAdversary;
+    }
+
+    @Name("wordle.ViewRefresh")
+    @Label("View Refreshed")
+    @Category("Wordle")
+    @Description("Applying the game events queued for one frame of the GUI")
+    @StackTrace(false)
+    static final class ViewRefresh extends Event {
+        @Label("Events Applied")
+        int eventCount;
+    }
+}
@@ -1,23 +1,67 @@
 import java.io.IOException;
 import java.awt.EventQueue;
+import java.util.Arrays;
 
 /**
  * The entry point to the GUI version of the game.
  */
 public class GUI {
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains("-m")) {
+            Metrics.enable(true);
+        }
+
+        if (Arrays.asList(args).contains("-b")) {
+            MultiBoardModel model = null;
+            try {
+                model = new MultiBoardModel(args);
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+            }
+
+            if (model == null) return;
+
+            MultiBoardModel multiBoardModel = model;
+            EventQueue.invokeLater(() -> {
+                new MultiBoardController(multiBoardModel).getView().setVisible(true);
+            });
+            return;
+        }
+
         Model model = null;
 
         try {
              model = new Model(args);
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             System.out.println(e.getMessage());
         }
 
         if (model == null) return;
 
+        try {
+            model.setJournal(GameJournal.open(WordRepository.cacheFile(GameJournal.FILENAME)));
+        } catch (IOException e) {
+            System.out.println("Games will not be recorded: " + e.getMessage());
+        }
+
         Controller controller = new Controller(model);
 
+        if (Arrays.asList(args).contains("-t")) {
+            try {
+                InputTrace.Recorder recorder = InputTrace.record(WordRepository.cacheFile(InputTrace.FILENAME));
+                controller.recordTo(recorder);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        recorder.close();
+                    } catch (IOException e) {
+                        System.out.println(e.getMessage());
+                    }
+                }, "input-trace"));
+            } catch (IOException e) {
+                System.out.println("Input will not be recorded: " + e.getMessage());
+            }
+        }
+
         EventQueue.invokeLater(() -> {
             controller.getView().setVisible(true);
         });
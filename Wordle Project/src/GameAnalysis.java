@@ -0,0 +1,170 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replays a finished game and measures each guess against the best one
+ * available at the time. For every guess it finds how many targets were
+ * still possible, the expected information of the guess that was played,
+ * the best guess and its expected information (the skill of the guess), and
+ * the information the guess actually revealed (the luck of the guess is how
+ * far that is from what was expected). In a hard mode game the best guess
+ * is only chosen from the guesses hard mode allowed at the time.
+ *
+ * An analyzer keeps its scratch state between games, so each thread of a
+ * batch should have its own.
+ */
+final class GameAnalysis {
+    private final WordRepository repository;
+    private final int[] targetWords;
+    private final int[] guessWords;
+    private final Solver solver;
+    private final CandidateSet candidates;
+    private final HardModeConstraints hardModeConstraints = new HardModeConstraints();
+    private final int[] allowed; // scratch for the guesses hard mode allows
+    private final int[] counts = new int[Feedback.CODE_COUNT];
+
+    public GameAnalysis(WordRepository repository) throws IOException {
+        this.repository = repository;
+        this.targetWords = repository.getPackedTargetWords();
+        this.guessWords = repository.getPackedGuessWords();
+        this.solver = repository.getSolver();
+        this.candidates = repository.getCandidateIndex().newCandidateSet();
+        this.allowed = new int[guessWords.length];
+    }
+
+    /**
+     * Analyzes the guesses made so far in a game.
+     */
+    public static List<GuessAnalysis> of(Model model) {
+        int[] packedGuesses = new int[model.getGuesses().size()];
+        for (int g = 0; g < packedGuesses.length; g++) {
+            StringBuilder word = new StringBuilder();
+            for (GuessItem item: model.getGuesses().get(g)) {
+                word.append(item.value);
+            }
+            packedGuesses[g] = Feedback.pack(word);
+        }
+
+        try {
+            return new GameAnalysis(WordRepository.shared()).analyze(Feedback.pack(model.getTargetWord()), packedGuesses, packedGuesses.length, model.isHardMode());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Analyzes the first guessCount packed guesses of a game with the given
+     * packed target.
+     */
+    public List<GuessAnalysis> analyze(int packedTarget, int[] packedGuesses, int guessCount, boolean isHardMode) throws IOException {
+        List<GuessAnalysis> result = new ArrayList<>(guessCount);
+        candidates.reset();
+        hardModeConstraints.clear();
+
+        for (int g = 0; g < guessCount; g++) {
+            int[] remaining = candidates.remainingCandidates();
+            if (remaining.length == 0) {
+                break; // the target is not one of the possible targets
+            }
+
+            int played = packedGuesses[g];
+            int best = bestGuess(remaining, isHardMode && g > 0);
+            double playedInformation = expectedInformation(played, remaining);
+            double bestInformation = solver.expectedInformation(best, remaining);
+
+            int code = Feedback.score(played, packedTarget);
+            candidates.narrow(played, code);
+            hardModeConstraints.record(played, code);
+            double actualInformation = candidates.remainingCount() == 0
+                    ? 0
+                    : log2((double)remaining.length / candidates.remainingCount());
+
+            result.add(new GuessAnalysis(played, remaining.length, playedInformation, guessWords[best], bestInformation, actualInformation));
+        }
+
+        return result;
+    }
+
+    private int bestGuess(int[] remaining, boolean isConstrained) {
+        if (isConstrained) {
+            int allowedCount = hardModeConstraints.filter(guessWords, allowed);
+            if (allowedCount > 0) {
+                return solver.rank(remaining, allowed, allowedCount, 1)[0];
+            }
+        }
+
+        return solver.rank(remaining, 1)[0];
+    }
+
+    private double expectedInformation(int packedGuess, int[] candidates) throws IOException {
+        int guessIndex = repository.guessIndexOf(packedGuess);
+        if (guessIndex >= 0) {
+            return solver.expectedInformation(guessIndex, candidates);
+        }
+
+        // A guess outside the word lists has no row in the feedback matrix
+        Arrays.fill(counts, 0);
+        for (int candidate: candidates) {
+            counts[Feedback.score(packedGuess, targetWords[candidate])]++;
+        }
+
+        double information = 0;
+        for (int count: counts) {
+            if (count > 0) {
+                double p = (double)count / candidates.length;
+                information -= p * log2(p);
+            }
+        }
+
+        return information;
+    }
+
+    private static double log2(double x) {
+        return Math.log(x) / Math.log(2);
+    }
+}
+
+/**
+ * The analysis of one guess of a game, in bits of information.
+ */
+final class GuessAnalysis {
+    public final int packedGuess;
+    public final int remainingCount; // targets still possible before the guess
+    public final double information; // expected information of the guess played
+    public final int packedBestGuess;
+    public final double bestInformation;
+    public final double actualInformation;
+
+    GuessAnalysis(int packedGuess, int remainingCount, double information, int packedBestGuess, double bestInformation, double actualInformation) {
+        this.packedGuess = packedGuess;
+        this.remainingCount = remainingCount;
+        this.information = information;
+        this.packedBestGuess = packedBestGuess;
+        this.bestInformation = bestInformation;
+        this.actualInformation = actualInformation;
+    }
+
+    /**
+     * Returns the expected information of the guess as a fraction of the best
+     * available, or 1 if no guess could have revealed anything.
+     */
+    public double skill() {
+        return bestInformation <= 0 ? 1 : Math.min(1, information / bestInformation);
+    }
+
+    /**
+     * Returns how much more information the guess revealed than expected.
+     */
+    public double luck() {
+        return actualInformation - information;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s  %4d left  %.2f bits (best %s %.2f)  got %.2f",
+                Feedback.unpack(packedGuess), remainingCount, information, Feedback.unpack(packedBestGuess), bestInformation, actualInformation);
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * A change to the state of a game, sent by the model to its listeners. Each
+ * kind of event carries only what changed.
+ */
+abstract class GameEvent {
+    /**
+     * A letter was added to the guess in progress.
+     */
+    static final class LetterTyped extends GameEvent {
+        public final int row;
+        public final int column;
+        public final char letter;
+
+        LetterTyped(int row, int column, char letter) {
+            this.row = row;
+            this.column = column;
+            this.letter = letter;
+        }
+
+        @Override
+        public String toString() {
+            return "LetterTyped(" + row + ", " + column + ", " + letter + ")";
+        }
+    }
+
+    /**
+     * The last letter of the guess in progress was removed.
+     */
+    static final class LetterDeleted extends GameEvent {
+        public final int row;
+        public final int column;
+
+        LetterDeleted(int row, int column) {
+            this.row = row;
+            this.column = column;
+        }
+
+        @Override
+        public String toString() {
+            return "LetterDeleted(" + row + ", " + column + ")";
+        }
+    }
+
+    /**
+     * The guess in progress became, or stopped being, the start of a valid
+     * word. Only sent when guesses are validated.
+     */
+    static final class PrefixValidityChanged extends GameEvent {
+        public final int row;
+        public final boolean isValid;
+
+        PrefixValidityChanged(int row, boolean isValid) {
+            this.row = row;
+            this.isValid = isValid;
+        }
+
+        @Override
+        public String toString() {
+            return "PrefixValidityChanged(" + row + ", " + isValid + ")";
+        }
+    }
+
+    /**
+     * A guess was made and scored. The guess and its feedback code are packed
+     * as described in {@link Feedback}, and the guess is wordLength letters
+     * long.
+     */
+    static final class GuessScored extends GameEvent {
+        public final int row;
+        public final int packedGuess;
+        public final int wordLength;
+        public final int code;
+        public final int remainingCount;
+        public final boolean isGameFinished;
+
+        GuessScored(int row, int packedGuess, int wordLength, int code, int remainingCount, boolean isGameFinished) {
+            this.row = row;
+            this.packedGuess = packedGuess;
+            this.wordLength = wordLength;
+            this.code = code;
+            this.remainingCount = remainingCount;
+            this.isGameFinished = isGameFinished;
+        }
+
+        @Override
+        public String toString() {
+            return "GuessScored(" + row + ", " + Feedback.unpack(packedGuess, wordLength) + ", " + code + ")";
+        }
+    }
+
+    /**
+     * A new game started.
+     */
+    static final class GameReset extends GameEvent {
+        public final int remainingCount;
+
+        GameReset(int remainingCount) {
+            this.remainingCount = remainingCount;
+        }
+
+        @Override
+        public String toString() {
+            return "GameReset";
+        }
+    }
+}
+
+/**
+ * Receives the changes to a game. Listeners are called on whichever thread
+ * changed the model.
+ */
+interface GameListener {
+    void gameChanged(GameEvent event);
+}
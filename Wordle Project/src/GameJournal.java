@@ -0,0 +1,367 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file of finished games. Every game is one fixed-size
+ * record, so the file can be read back by position without an index:
+ *
+ *   0  int    finish time, in seconds since the epoch (unsigned)
+ *   4  short  index of the target in common.txt (unsigned), or 0xFFFF
+ *   6  byte   number of guesses, with the top bit set if the game was won
+ *   7  byte   flags, bit 0 set if the game was played in hard mode
+ *   8  20     the packed guesses, 25 bits each, first guess in the low bits
+ *  28  int    CRC-32 of bytes 0 to 27
+ *
+ * A crash part way through an append leaves a short or corrupt record at
+ * the end of the file, which is cut off the next time the journal is opened.
+ * Several processes may share a journal: opening it and appending to it
+ * both hold an exclusive lock on the file, and an append always writes
+ * after the last record in the file rather than the last one it wrote.
+ * Statistics are computed by streaming over the memory-mapped records, so
+ * they need no memory per game.
+ */
+final class GameJournal implements AutoCloseable {
+    public static final String FILENAME = "games.journal";
+    public static final int NO_TARGET = 0xFFFF;
+
+    private static final int MAGIC = 0x57474A31; // "WGJ1"
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 32;
+    private static final int CHECKED_BYTES = 28;
+    private static final int GUESS_OFFSET = 8;
+    private static final int GUESS_BYTES = 20;
+    private static final int BITS_PER_GUESS = 25;
+    private static final int MAX_GUESSES = GUESS_BYTES * 8 / BITS_PER_GUESS;
+    private static final int WON = 0x80;
+    private static final int HARD_MODE = 0x01;
+    private static final long RECORDS_PER_MAPPING = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+    private long recordCount;
+
+    private GameJournal(FileChannel channel, long recordCount) {
+        this.channel = channel;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Opens the journal at the given path, creating it if it does not exist
+     * and cutting off a record left incomplete by a crash.
+     */
+    public static GameJournal open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try (FileLock lock = channel.lock()) {
+            if (channel.size() < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(RECORD_SIZE).putInt(0).putInt(0).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                channel.force(true);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(header, 0);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != RECORD_SIZE) {
+                    throw new IOException(file + " is not a game journal");
+                }
+            }
+
+            GameJournal journal = new GameJournal(channel, (channel.size() - HEADER_SIZE) / RECORD_SIZE);
+            journal.recover();
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of games in the journal, as of the last time this
+     * journal was opened or appended to.
+     */
+    public synchronized long size() {
+        return recordCount;
+    }
+
+    /**
+     * Appends a finished game. Only the first guessCount packed guesses are
+     * recorded, and targetIndex may be NO_TARGET if the target is not in
+     * common.txt.
+     */
+    public synchronized void append(int targetIndex, int[] packedGuesses, int guessCount, boolean isWon, boolean isHardMode, long epochSecond) throws IOException {
+        assert guessCount <= MAX_GUESSES : "A journal record holds at most " + MAX_GUESSES + " guesses";
+        assert targetIndex >= 0 && targetIndex <= NO_TARGET : "Target index must fit in two bytes";
+
+        record.clear();
+        record.putInt((int)epochSecond);
+        record.putShort((short)targetIndex);
+        record.put((byte)(guessCount | (isWon ? WON : 0)));
+        record.put((byte)(isHardMode ? HARD_MODE : 0));
+
+        // The guesses form one little-endian 160-bit number
+        long low = 0;
+        long middle = 0;
+        int high = 0;
+        for (int g = 0; g < guessCount; g++) {
+            long guess = packedGuesses[g] & ((1L << BITS_PER_GUESS) - 1);
+            int shift = g * BITS_PER_GUESS;
+
+            if (shift < 64) {
+                low |= guess << shift;
+                if (shift + BITS_PER_GUESS > 64) {
+                    middle |= guess >>> (64 - shift);
+                }
+            } else if (shift < 128) {
+                middle |= guess << (shift - 64);
+                if (shift + BITS_PER_GUESS > 128) {
+                    high |= (int)(guess >>> (128 - shift));
+                }
+            } else {
+                high |= (int)(guess << (shift - 128));
+            }
+        }
+        record.putLong(low).putLong(middle).putInt(high);
+
+        crc.reset();
+        crc.update(record.array(), 0, CHECKED_BYTES);
+        record.putInt((int)crc.getValue());
+        record.flip();
+
+        try (FileLock lock = channel.lock()) {
+            // Another process may have appended since, and a partial record can only be left by a crash
+            recordCount = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+
+            long position = HEADER_SIZE + recordCount * RECORD_SIZE;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            channel.force(false);
+            recordCount++;
+        }
+    }
+
+    /**
+     * Computes statistics over every game in the journal. Targets are
+     * counted up to targetCount, the number of words in common.txt.
+     */
+    public JournalStats stats(int targetCount) throws IOException {
+        JournalStats stats = new JournalStats(targetCount);
+        long count = size();
+
+        for (long first = 0; first < count; first += RECORDS_PER_MAPPING) {
+            long records = Math.min(RECORDS_PER_MAPPING, count - first);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, records * RECORD_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            for (int offset = 0; offset < records * RECORD_SIZE; offset += RECORD_SIZE) {
+                int flags = buffer.get(offset + 6) & 0xFF;
+                stats.add(buffer.getShort(offset + 4) & 0xFFFF, flags & ~WON, (flags & WON) != 0);
+            }
+        }
+
+        return stats;
+    }
+
+    /**
+     * Returns the packed guess at the given position of a recorded game.
+     */
+    public int guessAt(long game, int position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(buffer, HEADER_SIZE + game * RECORD_SIZE);
+
+        return guessAt(buffer, 0, position);
+    }
+
+    /**
+     * Passes every game in the journal to the visitor, in the order they were
+     * recorded, streaming over the memory-mapped records. The guesses array
+     * is reused from one game to the next.
+     */
+    public void forEach(Visitor visitor) throws IOException {
+        long count = size();
+        int[] guesses = new int[MAX_GUESSES];
+
+        for (long first = 0; first < count; first += RECORDS_PER_MAPPING) {
+            long records = Math.min(RECORDS_PER_MAPPING, count - first);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, records * RECORD_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            for (int offset = 0; offset < records * RECORD_SIZE; offset += RECORD_SIZE) {
+                int flags = buffer.get(offset + 6) & 0xFF;
+                int guessCount = flags & ~WON;
+                for (int g = 0; g < guessCount; g++) {
+                    guesses[g] = guessAt(buffer, offset, g);
+                }
+
+                boolean isHardMode = (buffer.get(offset + 7) & HARD_MODE) != 0;
+                visitor.visit(buffer.getShort(offset + 4) & 0xFFFF, guesses, guessCount, (flags & WON) != 0, isHardMode);
+            }
+        }
+    }
+
+    /**
+     * Receives the games read back from a journal.
+     */
+    interface Visitor {
+        void visit(int targetIndex, int[] packedGuesses, int guessCount, boolean isWon, boolean isHardMode) throws IOException;
+    }
+
+    private static int guessAt(ByteBuffer buffer, int recordOffset, int position) {
+        int shift = position * BITS_PER_GUESS;
+        int first = recordOffset + GUESS_OFFSET + (shift >>> 3);
+        int last = recordOffset + GUESS_OFFSET + GUESS_BYTES;
+
+        long bits = 0;
+        for (int i = 0; i < 8 && first + i < last; i++) {
+            bits |= (buffer.get(first + i) & 0xFFL) << (8 * i);
+        }
+
+        return (int)((bits >>> (shift & 7)) & ((1L << BITS_PER_GUESS) - 1));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Cuts off any partial record and then any complete records at the end
+     * whose checksums do not match, which can only have been left by an
+     * interrupted append.
+     */
+    private void recover() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        while (recordCount > 0) {
+            buffer.clear();
+            channel.read(buffer, HEADER_SIZE + (recordCount - 1) * RECORD_SIZE);
+
+            crc.reset();
+            crc.update(buffer.array(), 0, CHECKED_BYTES);
+            if ((int)crc.getValue() == buffer.getInt(CHECKED_BYTES)) {
+                break;
+            }
+            recordCount--;
+        }
+
+        long size = HEADER_SIZE + recordCount * RECORD_SIZE;
+        if (channel.size() != size) {
+            channel.truncate(size);
+            channel.force(true);
+        }
+    }
+}
+
+/**
+ * Statistics over the games in a {@link GameJournal}: the win rate, the
+ * current and longest winning streaks, how many guesses winning games took,
+ * and which targets were hardest. Everything is kept in primitive counters,
+ * one slot per target word.
+ */
+final class JournalStats {
+    private static final int LOSS_PENALTY = 7; // a lost game counts as seven guesses when ranking targets
+
+    private final int[] plays;
+    private final int[] totalGuesses;
+    private final long[] distribution = new long[32]; // winning games by number of guesses
+    private long games;
+    private long wins;
+    private long currentStreak;
+    private long longestStreak;
+
+    JournalStats(int targetCount) {
+        this.plays = new int[targetCount];
+        this.totalGuesses = new int[targetCount];
+    }
+
+    void add(int targetIndex, int guessCount, boolean isWon) {
+        games++;
+
+        if (isWon) {
+            wins++;
+            distribution[guessCount]++;
+            currentStreak++;
+            longestStreak = Math.max(longestStreak, currentStreak);
+        } else {
+            currentStreak = 0;
+        }
+
+        if (targetIndex < plays.length) {
+            plays[targetIndex]++;
+            totalGuesses[targetIndex] += isWon ? guessCount : LOSS_PENALTY;
+        }
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public double getWinPercentage() {
+        return games == 0 ? 0 : 100.0 * wins / games;
+    }
+
+    public long getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public long getLongestStreak() {
+        return longestStreak;
+    }
+
+    /**
+     * Returns the number of games won in exactly the given number of guesses.
+     */
+    public long getWinsIn(int guessCount) {
+        return guessCount < distribution.length ? distribution[guessCount] : 0;
+    }
+
+    /**
+     * Returns the indices (into common.txt) of up to k targets with the
+     * highest average number of guesses, hardest first. Lost games count as
+     * seven guesses, and targets played fewer than minimumPlays times are
+     * left out.
+     */
+    public int[] hardestTargets(int k, int minimumPlays) {
+        int[] best = new int[k];
+        int size = 0;
+
+        for (int t = 0; t < plays.length; t++) {
+            if (plays[t] < minimumPlays || plays[t] == 0) {
+                continue;
+            }
+            if (size == k && !isHarder(t, best[k - 1])) {
+                continue;
+            }
+
+            int j = size < k ? size++ : k - 1;
+            while (j > 0 && isHarder(t, best[j - 1])) {
+                best[j] = best[j - 1];
+                j--;
+            }
+            best[j] = t;
+        }
+
+        return Arrays.copyOf(best, size);
+    }
+
+    public double averageGuesses(int targetIndex) {
+        return plays[targetIndex] == 0 ? 0 : (double)totalGuesses[targetIndex] / plays[targetIndex];
+    }
+
+    private boolean isHarder(int a, int b) {
+        return (long)totalGuesses[a] * plays[b] > (long)totalGuesses[b] * plays[a];
+    }
+}
@@ -0,0 +1,86 @@
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Owns a model and runs every change to it on a single thread. Commands from
+ * any thread go through a lock-free queue to that thread, and after each one
+ * a new immutable {@link GameState} is published for readers on any thread.
+ * Neither submitting a command nor reading the state takes a lock.
+ *
+ * Listeners added to the model are called on the loop thread. A command
+ * that throws, including a failed assertion, is reported and the loop goes
+ * on to the next one; any other Error ends the loop, which isAlive shows.
+ */
+final class GameLoop {
+    private final Model model;
+    private final Queue<Consumer<Model>> commands = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile GameState state;
+    private volatile boolean isRunning = true;
+
+    public GameLoop(Model model) {
+        this.model = model;
+        this.state = GameState.of(model);
+        this.thread = new Thread(this::run, "game-loop");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops the loop once the commands already submitted have run.
+     */
+    public void stop() {
+        isRunning = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Queues a command to run against the model on the loop thread.
+     */
+    public void submit(Consumer<Model> command) {
+        commands.add(command);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Returns false once the loop thread has ended, whether it was stopped
+     * or died.
+     */
+    public boolean isAlive() {
+        return thread.isAlive();
+    }
+
+    /**
+     * Returns the state published after the most recent command.
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    private void run() {
+        while (true) {
+            Consumer<Model> command = commands.poll();
+
+            if (command == null) {
+                if (!isRunning) {
+                    return;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+
+            try {
+                command.accept(model);
+            } catch (RuntimeException | AssertionError e) {
+                e.printStackTrace();
+            }
+
+            state = GameState.of(model);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+import java.util.List;
+
+/**
+ * An immutable snapshot of a game, safe to read from any thread.
+ */
+final class GameState {
+    public final List<List<GuessItem>> guesses;
+    public final String guessInProgress;
+    public final int remainingGuesses;
+    public final int remainingCount;
+    public final boolean isGameFinished;
+    public final boolean isGameWon;
+    public final String targetWord;
+
+    private GameState(Model model) {
+        this.guesses = List.copyOf(model.getGuesses());
+        this.guessInProgress = model.getGuessInProgress();
+        this.remainingGuesses = model.getRemainingGuesses();
+        this.remainingCount = model.remainingCount();
+        this.isGameFinished = model.isGameFinished();
+        this.isGameWon = model.isGameWon();
+        this.targetWord = model.getTargetWord();
+    }
+
+    /**
+     * Takes a snapshot of the model. Must be called by the thread that owns it.
+     */
+    public static GameState of(Model model) {
+        return new GameState(model);
+    }
+}
@@ -1,7 +1,19 @@
+import java.util.List;
+
 /**
  * Represents a single character in a single guess, i.e. a cell in the grid.
  */
 final class GuessItem {
+    private static final GuessItem[][] INSTANCES = new GuessItem[26][GuessStatus.values().length];
+
+    static {
+        for (int letter = 0; letter < 26; letter++) {
+            for (GuessStatus status: GuessStatus.values()) {
+                INSTANCES[letter][status.ordinal()] = new GuessItem((char)('A' + letter), status);
+            }
+        }
+    }
+
     /**
      * One character of the guess.
      */
@@ -17,8 +29,35 @@ final class GuessItem {
         this.status = status;
     }
 
+    /**
+     * Returns the shared item for an uppercase character and status.
+     */
+    public static GuessItem of(char value, GuessStatus status) {
+        return INSTANCES[value - 'A'][status.ordinal()];
+    }
+
+    /**
+     * Expands a packed guess and its feedback code (see {@link Feedback}) into
+     * an unmodifiable list of one item per character.
+     */
+    public static List<GuessItem> unpack(int packedGuess, int code) {
+        return unpack(packedGuess, code, Feedback.WORD_LENGTH);
+    }
+
+    /**
+     * Expands a packed guess of the given length and its feedback code.
+     */
+    public static List<GuessItem> unpack(int packedGuess, int code, int length) {
+        GuessItem[] items = new GuessItem[length];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = of(Feedback.letterAt(packedGuess, i), Feedback.statusAt(code, i));
+        }
+
+        return List.of(items);
+    }
+
     @Override
     public String toString() {
         return "GuessItem(" + value + ", " + status + ")";
     }
-}
\ No newline at end of file
+}
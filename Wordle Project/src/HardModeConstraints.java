@@ -0,0 +1,198 @@
+import java.util.Arrays;
+
+/**
+ * The rules of hard mode, compiled from the guesses made so far: every
+ * letter revealed as correct must stay in place, every letter revealed as
+ * misplaced must be used again (as many times as it has been revealed) and
+ * may not go back to a position it was misplaced in.
+ *
+ * The history is compiled into three parts after each guess: the correct
+ * letters as a packed word with a mask of the positions they fill, the
+ * minimum count of each revealed letter, and a 26-bit mask of the banned
+ * letters for each position. Checking a guess then takes a fixed number of
+ * operations and allocates nothing. Guesses are five letters long unless
+ * another length is given.
+ */
+final class HardModeConstraints {
+    private static final int BITS_PER_LETTER = 5;
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+
+    private final int wordLength;
+    private int requiredLetters = 0; // packed, with the correct letters at their positions
+    private int requiredMask = 0; // packed, with all five bits set at each correct position
+    private final int[] bannedAtPosition;
+
+    // The letters with a minimum count and those counts, at most one entry per position
+    private final int[] countedLetters;
+    private final int[] minimumCounts;
+    private int countedLetterCount = 0;
+
+    public HardModeConstraints() {
+        this(Feedback.WORD_LENGTH);
+    }
+
+    public HardModeConstraints(int wordLength) {
+        this.wordLength = wordLength;
+        this.bannedAtPosition = new int[wordLength];
+        this.countedLetters = new int[wordLength];
+        this.minimumCounts = new int[wordLength];
+    }
+
+    public void clear() {
+        requiredLetters = 0;
+        requiredMask = 0;
+        Arrays.fill(bannedAtPosition, 0);
+        countedLetterCount = 0;
+    }
+
+    /**
+     * Adds the constraints revealed by a scored guess.
+     */
+    public void record(int packedGuess, int code) {
+        for (int i = 0; i < wordLength; i++) {
+            int letter = Feedback.letterIndexAt(packedGuess, i);
+            GuessStatus status = Feedback.statusAt(code, i);
+
+            if (status == GuessStatus.CORRECT) {
+                int shift = i * BITS_PER_LETTER;
+                requiredLetters = (requiredLetters & ~(LETTER_MASK << shift)) | (letter << shift);
+                requiredMask |= LETTER_MASK << shift;
+            } else if (status == GuessStatus.MISPLACED) {
+                bannedAtPosition[i] |= 1 << letter;
+            }
+        }
+
+        // A guess reveals at least as many copies of a letter as it has correct or misplaced tiles for it
+        for (int i = 0; i < wordLength; i++) {
+            int letter = Feedback.letterIndexAt(packedGuess, i);
+            if (isRepeatedBefore(packedGuess, i)) {
+                continue;
+            }
+
+            int found = 0;
+            for (int j = i; j < wordLength; j++) {
+                if (Feedback.letterIndexAt(packedGuess, j) == letter && Feedback.statusAt(code, j) != GuessStatus.INCORRECT) {
+                    found++;
+                }
+            }
+
+            if (found > 0) {
+                raiseMinimumCount(letter, found);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the packed guess follows every constraint.
+     */
+    public boolean allows(int packedGuess) {
+        if ((packedGuess & requiredMask) != requiredLetters) {
+            return false;
+        }
+
+        for (int i = 0; i < wordLength; i++) {
+            if ((bannedAtPosition[i] & (1 << Feedback.letterIndexAt(packedGuess, i))) != 0) {
+                return false;
+            }
+        }
+
+        for (int c = 0; c < countedLetterCount; c++) {
+            if (count(packedGuess, countedLetters[c]) < minimumCounts[c]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the indices of the packed words that follow every constraint to
+     * allowed, in order, and returns how many there are. The words are
+     * checked in a single pass.
+     */
+    public int filter(int[] packedWords, int[] allowed) {
+        int n = 0;
+        for (int w = 0; w < packedWords.length; w++) {
+            if (allows(packedWords[w])) {
+                allowed[n++] = w;
+            }
+        }
+
+        return n;
+    }
+
+    /**
+     * Returns a message describing the first constraint the packed guess
+     * breaks, or null if it follows all of them.
+     */
+    public String describeViolation(int packedGuess) {
+        for (int i = 0; i < wordLength; i++) {
+            int shift = i * BITS_PER_LETTER;
+            if (((requiredMask >>> shift) & LETTER_MASK) != 0 && Feedback.letterIndexAt(packedGuess, i) != Feedback.letterIndexAt(requiredLetters, i)) {
+                return ordinal(i + 1) + " letter must be " + Feedback.letterAt(requiredLetters, i);
+            }
+        }
+
+        for (int c = 0; c < countedLetterCount; c++) {
+            if (count(packedGuess, countedLetters[c]) < minimumCounts[c]) {
+                char letter = (char)('A' + countedLetters[c]);
+                return minimumCounts[c] == 1
+                        ? "Guess must contain " + letter
+                        : "Guess must contain " + minimumCounts[c] + " copies of " + letter;
+            }
+        }
+
+        for (int i = 0; i < wordLength; i++) {
+            if ((bannedAtPosition[i] & (1 << Feedback.letterIndexAt(packedGuess, i))) != 0) {
+                return ordinal(i + 1) + " letter cannot be " + Feedback.letterAt(packedGuess, i);
+            }
+        }
+
+        return null;
+    }
+
+    private void raiseMinimumCount(int letter, int count) {
+        for (int c = 0; c < countedLetterCount; c++) {
+            if (countedLetters[c] == letter) {
+                minimumCounts[c] = Math.max(minimumCounts[c], count);
+                return;
+            }
+        }
+
+        // Every counted letter is in the target, so there are never more of them than letters in a word
+        countedLetters[countedLetterCount] = letter;
+        minimumCounts[countedLetterCount] = count;
+        countedLetterCount++;
+    }
+
+    private int count(int packedWord, int letter) {
+        int count = 0;
+        for (int i = 0; i < wordLength; i++) {
+            if (Feedback.letterIndexAt(packedWord, i) == letter) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static boolean isRepeatedBefore(int packedGuess, int position) {
+        int letter = Feedback.letterIndexAt(packedGuess, position);
+        for (int j = 0; j < position; j++) {
+            if (Feedback.letterIndexAt(packedGuess, j) == letter) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String ordinal(int n) {
+        switch (n) {
+            case 1: return "1st";
+            case 2: return "2nd";
+            case 3: return "3rd";
+            default: return n + "th";
+        }
+    }
+}
@@ -0,0 +1,170 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of hints, keyed by a fingerprint of the game they were
+ * computed for. The remaining candidates depend only on which (guess,
+ * feedback) pairs have been seen and not on their order, so the fingerprint
+ * is a sum of one mixed hash per pair: games that reach the same position
+ * by different routes share an entry, and a model can update its
+ * fingerprint in O(1) as each guess is made.
+ *
+ * The cache is split into segments, each an LRU map behind its own lock,
+ * and each segment evicts its least recently used hints once it holds more
+ * than its share of the memory budget. Hints are computed outside the lock,
+ * so a slow computation never blocks lookups of other positions.
+ */
+final class HintCache {
+    public static final String BUDGET_PROPERTY = "wordle.hintCacheBytes";
+
+    private static final long DEFAULT_BUDGET_BYTES = 16L << 20;
+    private static final int SEGMENTS = 16;
+    private static final int ENTRY_OVERHEAD_BYTES = 96; // map entry, key and list
+    private static final int BYTES_PER_HINT = 56; // a five-letter String
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public HintCache(long budgetBytes) {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(budgetBytes / SEGMENTS);
+        }
+    }
+
+    /**
+     * Creates a cache with the budget given by the wordle.hintCacheBytes
+     * system property, or 16 MB.
+     */
+    public static HintCache withDefaultBudget() {
+        return new HintCache(Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_BYTES));
+    }
+
+    /**
+     * Returns the fingerprint of a game with no guesses.
+     */
+    public static long emptyFingerprint() {
+        return 0;
+    }
+
+    /**
+     * Returns the fingerprint of a game after one more guess and its
+     * feedback code have been seen.
+     */
+    public static long addToFingerprint(long fingerprint, int packedGuess, int code) {
+        // Codes for six-letter words need ten bits, so the guess goes in the upper half
+        return fingerprint + mix(((long)packedGuess << 32) | code);
+    }
+
+    /**
+     * Returns the cache key for k hints in the game with the given
+     * fingerprint, in hard mode or not. The count and mode are hashed
+     * rather than added, so no other fingerprint, count and mode are
+     * arranged to give the same key.
+     */
+    public static long keyOf(long fingerprint, int k, boolean isHardMode) {
+        return mix(fingerprint ^ mix(((long)k << 1) | (isHardMode ? 1 : 0)));
+    }
+
+    /**
+     * Returns the cached hints for the key, computing and caching them if
+     * they are missing. The key should combine a fingerprint with anything
+     * else the hints depend on, as keyOf does.
+     */
+    public List<String> get(long key, Supplier<List<String>> compute) {
+        Segment segment = segments[(int)(mix(key) >>> 60)];
+
+        List<String> hints;
+        synchronized (segment) {
+            hints = segment.get(key);
+        }
+
+        if (hints != null) {
+            hits.increment();
+            return hints;
+        }
+
+        misses.increment();
+        hints = List.copyOf(compute.get());
+
+        synchronized (segment) {
+            segment.put(key, hints);
+        }
+
+        return hints;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment: segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        long lookups = hitCount() + missCount();
+        return String.format("hits=%d misses=%d hitRate=%.1f%% evictions=%d size=%d",
+                hitCount(), missCount(), lookups == 0 ? 0.0 : 100.0 * hitCount() / lookups, evictionCount(), size());
+    }
+
+    /**
+     * The 64-bit finalizer from SplitMix64, which spreads nearby inputs
+     * across the whole range.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long bytesOf(List<String> hints) {
+        return ENTRY_OVERHEAD_BYTES + (long)hints.size() * BYTES_PER_HINT;
+    }
+
+    private final class Segment extends LinkedHashMap<Long, List<String>> {
+        private final long budgetBytes;
+        private long bytes = 0;
+
+        Segment(long budgetBytes) {
+            super(16, 0.75f, true);
+            this.budgetBytes = budgetBytes;
+        }
+
+        @Override
+        public List<String> put(Long key, List<String> hints) {
+            List<String> previous = super.put(key, hints);
+            bytes += bytesOf(hints) - (previous == null ? 0 : bytesOf(previous));
+
+            Iterator<Map.Entry<Long, List<String>>> eldest = entrySet().iterator();
+            while (bytes > budgetBytes && eldest.hasNext()) {
+                bytes -= bytesOf(eldest.next().getValue());
+                eldest.remove();
+                evictions.increment();
+            }
+
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,416 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The entry point to dictionary ingestion. Streams any number of word lists,
+ * one word per line and of any size, into one binary {@link Dictionary} per
+ * word length, written where the game keeps its caches (see
+ * {@link WordRepository#cacheFile}). The dictionary for five-letter words is
+ * then accepted by the game alongside words.txt and common.txt.
+ *
+ * Lines are trimmed and upper-cased, and any line holding something other
+ * than the letters A to Z, or longer than {@link Dictionary#MAX_WORD_LENGTH},
+ * is skipped. Words are sorted and deduplicated with an external merge sort:
+ * they are collected into a fixed-size chunk, each full chunk is sorted and
+ * written to a temporary run file, and the runs are merged. At most
+ * MAX_FAN_IN runs are merged at once, each through a 64 KB buffer, so when
+ * there are more runs than that they are merged in passes into longer runs
+ * first. Memory use is bounded by the chunk size (the wordle.ingestChunkWords
+ * system property, 4M words or 32 MB by default) and the number of open
+ * files by the fan-in, whatever the size of the input.
+ */
+public class Ingest {
+    public static final String CHUNK_PROPERTY = "wordle.ingestChunkWords";
+
+    private static final int DEFAULT_CHUNK_WORDS = 1 << 22;
+    private static final int MAX_FAN_IN = 64;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int LENGTH_SHIFT = 60;
+    private static final long PACKED_MASK = (1L << LENGTH_SHIFT) - 1;
+
+    // Ingest word-list...
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: Ingest word-list...");
+            return;
+        }
+
+        List<Path> inputs = new ArrayList<>();
+        for (String arg: args) {
+            inputs.add(Paths.get(arg));
+        }
+
+        Ingest ingest = new Ingest(WordRepository.cacheFile(""), Integer.getInteger(CHUNK_PROPERTY, DEFAULT_CHUNK_WORDS));
+        long start = System.nanoTime();
+        try {
+            int[] counts = ingest.run(inputs);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Lines:     %d (%d skipped)%n", ingest.lineCount, ingest.skippedCount);
+            System.out.printf("Runs:      %d (%d merge passes)%n", ingest.runCount, ingest.mergePassCount);
+            for (int length = 1; length < counts.length; length++) {
+                if (counts[length] > 0) {
+                    System.out.printf("%-10s %d words%n", Dictionary.ingestedFilename(length), counts[length]);
+                }
+            }
+            System.out.printf("Time:      %.2f s (%.0f lines/s)%n", seconds, ingest.lineCount / seconds);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private final Path outputDirectory;
+    private final long[] chunk; // keys, see key()
+    private final int maxFanIn;
+    private List<Path> runs = new ArrayList<>();
+    private int chunkSize = 0;
+    private int runCount = 0;
+    private int mergePassCount = 0;
+    private long lineCount = 0;
+    private long skippedCount = 0;
+
+    public Ingest(Path outputDirectory, int chunkWords) {
+        this(outputDirectory, chunkWords, MAX_FAN_IN);
+    }
+
+    Ingest(Path outputDirectory, int chunkWords, int maxFanIn) {
+        assert maxFanIn >= 2 : "At least two runs must be merged at once";
+
+        this.outputDirectory = outputDirectory;
+        this.chunk = new long[chunkWords];
+        this.maxFanIn = maxFanIn;
+    }
+
+    /**
+     * Ingests the word lists and returns the number of distinct words
+     * written for each length.
+     */
+    public int[] run(List<Path> inputs) throws IOException {
+        Path runDirectory = Files.createTempDirectory(outputDirectory.toAbsolutePath(), "ingest");
+        try {
+            for (Path input: inputs) {
+                try (InputStream in = Files.newInputStream(input)) {
+                    read(in, runDirectory);
+                }
+            }
+
+            if (runs.isEmpty()) {
+                // Everything fit in one chunk, so there is nothing to merge
+                return write(new ChunkSource(sortChunk()));
+            }
+
+            if (chunkSize > 0) {
+                writeRun(runDirectory);
+            }
+
+            while (runs.size() > maxFanIn) {
+                mergePass(runDirectory);
+            }
+
+            List<RunSource> sources = new ArrayList<>();
+            try {
+                for (Path run: runs) {
+                    sources.add(new RunSource(run));
+                }
+                return write(new MergeSource(sources));
+            } finally {
+                for (RunSource source: sources) {
+                    source.close();
+                }
+            }
+        } finally {
+            // Whatever was left behind, including a merge pass that failed part way
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(runDirectory)) {
+                for (Path file: files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(runDirectory);
+        }
+    }
+
+    /**
+     * Parses one word list a block at a time, without creating a String for
+     * each line.
+     */
+    private void read(InputStream in, Path runDirectory) throws IOException {
+        byte[] block = new byte[1 << 16];
+        int blockSize = 0;
+        int position = 0;
+        long packed = 0;
+        int length = 0;
+        boolean isValid = true;
+        boolean hasEnded = false; // whitespace followed the word
+
+        while (true) {
+            if (position == blockSize && blockSize >= 0) {
+                blockSize = in.read(block);
+                position = 0;
+            }
+            int b = blockSize < 0 ? -1 : block[position++] & 0xFF;
+
+            if (b == '\n' || b < 0) {
+                if (length > 0 || !isValid) {
+                    lineCount++;
+                    if (isValid && length <= Dictionary.MAX_WORD_LENGTH) {
+                        if (chunkSize == chunk.length) {
+                            writeRun(runDirectory);
+                        }
+                        chunk[chunkSize++] = key(length, packed);
+                    } else {
+                        skippedCount++;
+                    }
+                }
+
+                packed = 0;
+                length = 0;
+                isValid = true;
+                hasEnded = false;
+
+                if (b < 0) {
+                    return;
+                }
+            } else if (b == ' ' || b == '\t' || b == '\r') {
+                hasEnded = length > 0;
+            } else if (((b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z')) && !hasEnded) {
+                if (length < Dictionary.MAX_WORD_LENGTH) {
+                    packed |= (long)((b & ~0x20) - 'A') << (length * 5);
+                }
+                length++;
+            } else {
+                isValid = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the sort key of a word: its length above its packed letters,
+     * so keys sort by length first. The sign bit is flipped so that keys
+     * compare correctly as signed longs even when the length sets it.
+     */
+    private static long key(int length, long packed) {
+        return (((long)length << LENGTH_SHIFT) | packed) ^ Long.MIN_VALUE;
+    }
+
+    private static int lengthOf(long key) {
+        return (int)((key ^ Long.MIN_VALUE) >>> LENGTH_SHIFT);
+    }
+
+    private static long packedOf(long key) {
+        return (key ^ Long.MIN_VALUE) & PACKED_MASK;
+    }
+
+    /**
+     * Sorts and deduplicates the chunk, returning the number of keys left.
+     */
+    private int sortChunk() {
+        Arrays.sort(chunk, 0, chunkSize);
+
+        int count = 0;
+        for (int i = 0; i < chunkSize; i++) {
+            if (count == 0 || chunk[count - 1] != chunk[i]) {
+                chunk[count++] = chunk[i];
+            }
+        }
+
+        chunkSize = 0;
+        return count;
+    }
+
+    private void writeRun(Path runDirectory) throws IOException {
+        int count = sortChunk();
+        Path run = runDirectory.resolve("run" + runCount++);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+            for (int i = 0; i < count; i++) {
+                out.writeLong(chunk[i]);
+            }
+        }
+
+        runs.add(run);
+    }
+
+    /**
+     * Merges the runs in groups of up to maxFanIn into longer runs,
+     * dropping duplicates and deleting each group once it is merged.
+     */
+    private void mergePass(Path runDirectory) throws IOException {
+        List<Path> merged = new ArrayList<>();
+
+        for (int first = 0; first < runs.size(); first += maxFanIn) {
+            List<Path> group = runs.subList(first, Math.min(first + maxFanIn, runs.size()));
+            Path run = runDirectory.resolve("pass" + mergePassCount + "-" + merged.size());
+            merged.add(run);
+
+            List<RunSource> sources = new ArrayList<>();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+                for (Path path: group) {
+                    sources.add(new RunSource(path));
+                }
+
+                MergeSource source = new MergeSource(sources);
+                boolean isFirst = true;
+                long previous = 0;
+                while (source.hasNext()) {
+                    long key = source.next();
+                    if (isFirst || key != previous) {
+                        out.writeLong(key);
+                    }
+                    isFirst = false;
+                    previous = key;
+                }
+            } finally {
+                for (RunSource source: sources) {
+                    source.close();
+                }
+            }
+
+            for (Path path: group) {
+                Files.delete(path);
+            }
+        }
+
+        runs = merged;
+        mergePassCount++;
+    }
+
+    /**
+     * Writes the sorted keys to one dictionary per length, skipping
+     * duplicates. The keys arrive grouped by length, so only one dictionary
+     * is open at a time. If reading the keys fails, the dictionary being
+     * written is discarded and the one already in place is kept.
+     */
+    private int[] write(KeySource source) throws IOException {
+        int[] counts = new int[Dictionary.MAX_WORD_LENGTH + 1];
+        Dictionary.Writer writer = null;
+        int writerLength = 0;
+        long previous = 0;
+
+        try {
+            boolean isFirst = true;
+            while (source.hasNext()) {
+                long key = source.next();
+                if (!isFirst && key == previous) {
+                    continue;
+                }
+                isFirst = false;
+                previous = key;
+
+                int length = lengthOf(key);
+                if (writer == null || length != writerLength) {
+                    if (writer != null) {
+                        writer.commit();
+                        writer.close();
+                        counts[writerLength] = writer.getCount();
+                    }
+                    writer = new Dictionary.Writer(outputDirectory.resolve(Dictionary.ingestedFilename(length)), length, 0);
+                    writerLength = length;
+                }
+                writer.add(packedOf(key));
+            }
+
+            if (writer != null) {
+                writer.commit();
+                counts[writerLength] = writer.getCount();
+            }
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+
+        return counts;
+    }
+
+    /**
+     * A stream of sort keys in ascending order.
+     */
+    private interface KeySource {
+        boolean hasNext() throws IOException;
+
+        long next() throws IOException;
+    }
+
+    private final class ChunkSource implements KeySource {
+        private final int count;
+        private int position = 0;
+
+        ChunkSource(int count) {
+            this.count = count;
+        }
+
+        public boolean hasNext() {
+            return position < count;
+        }
+
+        public long next() {
+            return chunk[position++];
+        }
+    }
+
+    /**
+     * The keys of one run file, read through a small buffer.
+     */
+    private static final class RunSource implements KeySource, Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        private long current;
+
+        RunSource(Path run) throws IOException {
+            this.remaining = Files.size(run) / Long.BYTES;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+        }
+
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        public long next() throws IOException {
+            remaining--;
+            current = in.readLong();
+            return current;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Merges sorted runs by repeatedly taking the smallest key at the head
+     * of any run.
+     */
+    private static final class MergeSource implements KeySource {
+        private final PriorityQueue<RunSource> heads = new PriorityQueue<>((a, b) -> Long.compare(a.current, b.current));
+
+        MergeSource(List<RunSource> runs) throws IOException {
+            for (RunSource run: runs) {
+                if (run.hasNext()) {
+                    run.next();
+                    heads.add(run);
+                }
+            }
+        }
+
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        public long next() throws IOException {
+            RunSource run = heads.poll();
+            long key = run.current;
+
+            if (run.hasNext()) {
+                run.next();
+                heads.add(run);
+            }
+
+            return key;
+        }
+    }
+}
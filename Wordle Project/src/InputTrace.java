@@ -0,0 +1,121 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A recording of the input sent to the GUI controller: every keyboard
+ * entry and every new game, with the time it arrived. Traces are written by
+ * the GUI when it is started with -t and played back by {@link Replay}.
+ *
+ * A trace is a header, the magic number and the start time in milliseconds
+ * since the epoch, followed by one record per input: a byte holding the
+ * {@link Entry} ordinal (or NEW_GAME), then the milliseconds since the
+ * previous input as an unsigned varint. A keystroke typed at human speed
+ * takes two bytes.
+ */
+final class InputTrace {
+    public static final String FILENAME = "input.trace";
+    public static final int NEW_GAME = 0xFF;
+
+    private static final int MAGIC = 0x57495431; // "WIT1"
+    private static final int HEADER_SIZE = 12;
+
+    private InputTrace() {
+    }
+
+    /**
+     * Receives the inputs of a trace in order. The entry is null for a new
+     * game.
+     */
+    interface Visitor {
+        void visit(Entry entry, long timeMillis);
+    }
+
+    /**
+     * Reads the whole trace at the given path and passes each input to the
+     * visitor.
+     */
+    public static void forEach(Path file, Visitor visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not an input trace: " + file);
+        }
+
+        Entry[] entries = Entry.values();
+        long time = buffer.getLong();
+        while (buffer.hasRemaining()) {
+            int kind = buffer.get() & 0xFF;
+
+            long delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (!buffer.hasRemaining()) {
+                    return; // the last record was cut off by a crash
+                }
+                int b = buffer.get();
+                delta |= (long)(b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            time += delta;
+
+            if (kind != NEW_GAME && kind >= entries.length) {
+                throw new IOException("Unknown input " + kind + " in trace " + file);
+            }
+            visitor.visit(kind == NEW_GAME ? null : entries[kind], time);
+        }
+    }
+
+    /**
+     * Starts a new trace at the given path, replacing any trace already
+     * there.
+     */
+    public static Recorder record(Path file) throws IOException {
+        return new Recorder(new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file))));
+    }
+
+    /**
+     * Writes inputs to a trace as they arrive. Inputs are buffered and
+     * flushed at the start of each game and when the recorder is closed.
+     */
+    static final class Recorder implements Closeable {
+        private final DataOutputStream out;
+        private long lastTime;
+
+        private Recorder(DataOutputStream out) throws IOException {
+            this.out = out;
+            this.lastTime = System.currentTimeMillis();
+
+            out.writeInt(MAGIC);
+            out.writeLong(lastTime);
+        }
+
+        public synchronized void entry(Entry entry) throws IOException {
+            write(entry.ordinal());
+        }
+
+        public synchronized void newGame() throws IOException {
+            write(NEW_GAME);
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+
+        private void write(int kind) throws IOException {
+            long now = System.currentTimeMillis();
+            long delta = Math.max(0, now - lastTime);
+            lastTime = now;
+
+            out.writeByte(kind);
+            while (delta >= 0x80) {
+                out.writeByte((int)(delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out.writeByte((int)delta);
+        }
+    }
+}
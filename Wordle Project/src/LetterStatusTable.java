@@ -0,0 +1,172 @@
+import java.util.*;
+
+/**
+ * The status of every letter of the alphabet across the guesses of one game,
+ * updated as each guess is scored. For every letter the table keeps the best
+ * status it has been given (correct beats misplaced beats incorrect), and for
+ * every status a 26-bit mask of the letters that have been given it at least
+ * once. Bit i of a mask stands for the letter 'A' + i.
+ *
+ * Clearing the table is O(1): each letter entry is stamped with the
+ * generation it was written in, and entries from older generations read as
+ * unguessed.
+ */
+final class LetterStatusTable {
+    private static final int LETTERS = 26;
+    private static final int ALL_LETTERS = (1 << LETTERS) - 1;
+    private static final GuessStatus[] STATUSES = GuessStatus.values();
+
+    private final int wordLength;
+    private final byte[] bestStatus = new byte[LETTERS]; // ordinal of the best status
+    private final int[] generations = new int[LETTERS];
+    private final int[] masks = new int[STATUSES.length];
+    private int generation = 1;
+
+    private final Map<Character, GuessStatus> statusView = new StatusView();
+
+    public LetterStatusTable() {
+        this(Feedback.WORD_LENGTH);
+    }
+
+    /**
+     * Creates a table for guesses of the given length.
+     */
+    public LetterStatusTable(int wordLength) {
+        this.wordLength = wordLength;
+    }
+
+    public void clear() {
+        generation++;
+        Arrays.fill(masks, 0);
+    }
+
+    /**
+     * Records the statuses of every letter of a scored guess.
+     */
+    public void record(int packedGuess, int code) {
+        for (int i = 0; i < wordLength; i++) {
+            int letter = Feedback.letterIndexAt(packedGuess, i);
+            int status = Feedback.statusAt(code, i).ordinal();
+
+            masks[status] |= 1 << letter;
+
+            if (generations[letter] != generation || status < bestStatus[letter]) {
+                generations[letter] = generation;
+                bestStatus[letter] = (byte)status;
+            }
+        }
+    }
+
+    /**
+     * Returns the best status the letter has been given, or null if it has not
+     * been guessed.
+     */
+    public GuessStatus statusOf(char letter) {
+        int index = Character.toUpperCase(letter) - 'A';
+        if (index < 0 || index >= LETTERS || generations[index] != generation) {
+            return null;
+        }
+
+        return STATUSES[bestStatus[index]];
+    }
+
+    /**
+     * Returns the mask of letters that have been given the status at least
+     * once, or of the letters not guessed at all if the status is null.
+     */
+    public int mask(GuessStatus status) {
+        if (status != null) {
+            return masks[status.ordinal()];
+        }
+
+        int guessed = 0;
+        for (int mask: masks) {
+            guessed |= mask;
+        }
+
+        return ~guessed & ALL_LETTERS;
+    }
+
+    /**
+     * Returns a read-only list of the letters in the mask, in alphabetical order.
+     */
+    public static List<Character> lettersOf(int mask) {
+        return new AbstractList<Character>() {
+            @Override
+            public Character get(int index) {
+                Objects.checkIndex(index, size());
+
+                int remaining = mask;
+                for (int i = 0; i < index; i++) {
+                    remaining &= remaining - 1;
+                }
+
+                return (char)('A' + Integer.numberOfTrailingZeros(remaining));
+            }
+
+            @Override
+            public int size() {
+                return Integer.bitCount(mask);
+            }
+        };
+    }
+
+    /**
+     * Returns a read-only map from every uppercase letter to its best status
+     * (or null). The map is a live view of the table.
+     */
+    public Map<Character, GuessStatus> asMap() {
+        return statusView;
+    }
+
+    private final class StatusView extends AbstractMap<Character, GuessStatus> {
+        private final Set<Entry<Character, GuessStatus>> entries = new AbstractSet<Entry<Character, GuessStatus>>() {
+            @Override
+            public Iterator<Entry<Character, GuessStatus>> iterator() {
+                return new Iterator<Entry<Character, GuessStatus>>() {
+                    private int letter = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return letter < LETTERS;
+                    }
+
+                    @Override
+                    public Entry<Character, GuessStatus> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        char c = (char)('A' + letter++);
+                        return new SimpleImmutableEntry<>(c, statusOf(c));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LETTERS;
+            }
+        };
+
+        @Override
+        public GuessStatus get(Object key) {
+            return key instanceof Character ? statusOf((Character)key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Character && (Character)key >= 'A' && (Character)key <= 'Z';
+        }
+
+        @Override
+        public int size() {
+            return LETTERS;
+        }
+
+        @Override
+        public Set<Entry<Character, GuessStatus>> entrySet() {
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process counters and latency histograms for the hot paths of the game.
+ * Metrics are off unless enable() is called (the -m flag), and while they
+ * are off timing a call costs one read of a static field.
+ *
+ * Timing follows the same shape everywhere:
+ *
+ *   long start = Metrics.start();
+ *   ...
+ *   Metrics.MAKE_GUESS.record(start);
+ */
+final class Metrics {
+    public static final Metric LOAD = new Metric("model.load");
+    public static final Metric VALIDATE = new Metric("guess.validate");
+    public static final Metric MAKE_GUESS = new Metric("guess.make");
+    public static final Metric FEEDBACK = new Metric("feedback.score");
+    public static final Metric VIEW_REFRESH = new Metric("view.refresh");
+
+    private static final List<Metric> ALL = List.of(LOAD, VALIDATE, MAKE_GUESS, FEEDBACK, VIEW_REFRESH);
+
+    static boolean isEnabled = false;
+
+    private Metrics() {
+    }
+
+    /**
+     * Turns metrics on for the rest of the process, optionally printing a
+     * summary when the process exits.
+     */
+    public static void enable(boolean printOnExit) {
+        isEnabled = true;
+
+        if (printOnExit) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(summary()), "metrics-summary"));
+        }
+    }
+
+    /**
+     * Turns metrics off again, without clearing what has been recorded.
+     * Only tests need this, to leave metrics as they found them.
+     */
+    static void disable() {
+        isEnabled = false;
+    }
+
+    /**
+     * Returns the time to pass to {@link Metric#record}, or 0 if metrics are off.
+     */
+    public static long start() {
+        return isEnabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Returns a table of every metric that has been recorded at least once.
+     */
+    public static String summary() {
+        return summary(ALL);
+    }
+
+    /**
+     * Returns a table of the given metrics that have been recorded at least
+     * once.
+     */
+    public static String summary(List<Metric> metrics) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-16s %10s %12s %12s %12s %12s%n", "METRIC", "COUNT", "MEAN (us)", "P50 (us)", "P99 (us)", "MAX (us)"));
+
+        for (Metric metric: metrics) {
+            if (metric.count() > 0) {
+                summary.append(String.format("%-16s %10d %12.1f %12.1f %12.1f %12.1f%n",
+                        metric.name, metric.count(), metric.mean() / 1e3, metric.percentile(0.5) / 1e3, metric.percentile(0.99) / 1e3, metric.max() / 1e3));
+            }
+        }
+
+        return summary.toString();
+    }
+}
+
+/**
+ * A counter with a latency histogram. Latencies go into power-of-two buckets
+ * of nanoseconds, so recording one is an increment of two counters and the
+ * percentiles are accurate to within a factor of two.
+ */
+final class Metric {
+    private static final int BUCKETS = 64;
+
+    public final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS); // bucket i holds latencies below 2^i ns
+
+    Metric(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records the time since start, a value returned by {@link Metrics#start}.
+     */
+    public void record(long start) {
+        if (!Metrics.isEnabled) {
+            return;
+        }
+
+        long nanos = System.nanoTime() - start;
+        count.increment();
+        totalNanos.add(nanos);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 0)));
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double)totalNanos.sum() / n;
+    }
+
+    /**
+     * Returns the upper bound, in nanoseconds, of the bucket holding the
+     * given fraction of recorded latencies.
+     */
+    public double percentile(double fraction) {
+        long n = count.sum();
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen > 0 && seen >= fraction * n) {
+                return Math.pow(2, i);
+            }
+        }
+
+        return 0;
+    }
+
+    public double max() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (buckets.get(i) > 0) {
+                return Math.pow(2, i);
+            }
+        }
+
+        return 0;
+    }
+}
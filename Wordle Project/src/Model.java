@@ -1,29 +1,63 @@
 import java.util.*;
 import java.io.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Contains the logic for a game of Wordle. Subscribe to this model to receive
- * updates when the state of the game changes.
+ * Contains the logic for a game of Wordle. Add a listener to this model to
+ * receive an event for each change to the state of the game.
  */
-public class Model extends Observable {
-    private static final String TARGET_POOL_FILENAME = "common.txt";
-    private static final String VALID_POOL_FILENAME = "words.txt";
+public class Model {
+    public static final int MIN_WORD_LENGTH = 2;
     private static final String FIXED_TARGET_WORD = "AUDIO";
     private static final int GUESSES_ALLOWED = 6;
-    private static final List<Character> CHARACTER_POOL = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".chars().mapToObj(i -> (char)i).collect(Collectors.toList());
 
+    private final int wordLength;
     private String targetWord = FIXED_TARGET_WORD; // an uppercase word
-    private Set<String> validWords = new HashSet<>();
-    private List<String> targetWords = new ArrayList<>();
+    private int packedTargetWord = Feedback.pack(FIXED_TARGET_WORD);
+    private WordRepository repository;
+    private Dictionary validWords;
+    private int[] targetWords; // packed
+    private CandidateSet candidates;
+    private LetterStatusTable letterStatuses;
+    private HardModeConstraints hardModeConstraints;
+    private int[] packedGuesses = new int[GUESSES_ALLOWED];
+    private int[] guessCodes = new int[GUESSES_ALLOWED];
+    private long fingerprint = HintCache.emptyFingerprint(); // of the (guess, code) pairs so far
     private List<List<GuessItem>> guesses = new ArrayList<>();
     private String guessInProgress = "";
+    private PrefixCursor prefix; // the guess in progress in the word graph, when validating
     private Boolean hasWon = null;
+    private List<GameListener> listeners = new CopyOnWriteArrayList<>();
+    private GameJournal journal;
+    private Adversary adversary; // in Absurdle mode, chooses the feedback until one target is left
+    private boolean isAdversaryActive = false;
 
     private boolean flag_randomise;
     private boolean flag_showWord;
     private boolean flag_validateWord;
+    private boolean flag_hardMode;
+    private boolean flag_absurdle;
 
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the journal every finished game is appended to, or null to stop
+     * recording games.
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Returns the uppercase target word, or null in Absurdle mode while more
+     * than one target is still possible.
+     */
     public String getTargetWord() {
         return targetWord;
     }
@@ -33,7 +67,18 @@ public class Model extends Observable {
     }
 
     public boolean shouldValidateWord() {
-        return flag_showWord;
+        return flag_validateWord;
+    }
+
+    /**
+     * Returns the number of letters in each guess and target.
+     */
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public boolean isHardMode() {
+        return flag_hardMode;
     }
 
     public int getRemainingGuesses() {
@@ -52,109 +97,350 @@ public class Model extends Observable {
         return hasWon != null;
     }
 
+    public boolean isGameWon() {
+        return hasWon != null && hasWon;
+    }
+
     public void reset() {
-        guesses.clear();
-        guessInProgress = "";
-        hasWon = null;
+        clearGame();
 
-        if (flag_randomise) {
-            targetWord = targetWords.get(new Random().nextInt(targetWords.size())).toUpperCase();
+        if (flag_absurdle) {
+            startAbsurdle();
+        } else if (flag_randomise) {
+            setTargetWord(Feedback.unpack(targetWords[new Random().nextInt(targetWords.length)], wordLength));
         }
 
-        setChanged();
-        notifyObservers();
+        fire(new GameEvent.GameReset(remainingCount()));
+    }
+
+    /**
+     * Starts a new game with the given target word, whatever the flags.
+     */
+    public void reset(String targetWord) {
+        assert targetWord != null : "Target word must be non-null";
+        assert targetWord.trim().length() == wordLength : "Target word must be of length " + wordLength;
+
+        clearGame();
+        setTargetWord(targetWord);
+        isAdversaryActive = false;
+
+        fire(new GameEvent.GameReset(remainingCount()));
     }
 
     public void setGuessInProgress(String guess) {
         assert guess != null : "Guess must be non-null";
-        assert guess.length() <= 5 : "Guesses cannot be larger than 5 characters";
-        assert guess.trim().matches("[a-zA-Z]+") : "Guess must only contain alphabetic characters";
+        assert guess.length() <= wordLength : "Guesses cannot be larger than " + wordLength + " characters";
+        assert guess.trim().matches("[a-zA-Z]*") : "Guess must only contain alphabetic characters";
 
+        String previous = guessInProgress;
         this.guessInProgress = guess;
-        setChanged();
-        notifyObservers();
-    }
 
-    public List<Character> getAllCharactersWithStatus(GuessStatus status) {
-        List<GuessItem> allGuesses = guesses.stream().flatMap(Collection::stream).collect(Collectors.toList());
-
-        if (status == null) {
-            return CHARACTER_POOL.stream()
-                .filter(c -> allGuesses.stream()
-                .noneMatch(g -> g.value == c))
-                .collect(Collectors.toList());
+        // Only the letters after the common prefix change
+        int common = 0;
+        while (common < previous.length() && common < guess.length() && previous.charAt(common) == guess.charAt(common)) {
+            common++;
         }
 
-        return allGuesses.stream()
-            .filter(g -> g.status == status)
-            .map(g -> g.value)
-            .distinct()
-            .collect(Collectors.toList());
-    }
-
-    public Map<Character, GuessStatus> getAllCharacterStatuses() {
-        List<GuessItem> allGuesses = guesses.stream().flatMap(Collection::stream).collect(Collectors.toList());
-        Map<Character, GuessStatus> result = new HashMap<>();
+        int row = guesses.size();
+        for (int i = previous.length() - 1; i >= common; i--) {
+            fire(new GameEvent.LetterDeleted(row, i));
+        }
+        for (int i = common; i < guess.length(); i++) {
+            fire(new GameEvent.LetterTyped(row, i, Character.toUpperCase(guess.charAt(i))));
+        }
 
-        for (GuessItem guess: allGuesses) {
-            if (!result.containsKey(guess.value)) {
-                result.put(guess.value, guess.status);
+        if (prefix != null) {
+            boolean wasValid = prefix.isValid();
+            prefix.truncate(common);
+            for (int i = common; i < guess.length(); i++) {
+                prefix.push(Character.toUpperCase(guess.charAt(i)) - 'A');
             }
-            else if (result.get(guess.value).compareTo(guess.status) > 0) {
-                result.put(guess.value, guess.status);
-            }
-        }
 
-        for (Character c: CHARACTER_POOL) {
-            if (!result.containsKey(c)) {
-                result.put(c, null);
+            if (prefix.isValid() != wasValid) {
+                fire(new GameEvent.PrefixValidityChanged(row, prefix.isValid()));
             }
         }
+    }
+
+    /**
+     * Returns false if no valid word begins with the guess in progress.
+     * Always true when guesses are not validated.
+     */
+    public boolean isGuessInProgressValid() {
+        return prefix == null || prefix.isValid();
+    }
+
+    /**
+     * Returns the letters that have been given the status in at least one
+     * guess, or the letters not guessed at all if the status is null, in
+     * alphabetical order. The list is read-only.
+     */
+    public List<Character> getAllCharactersWithStatus(GuessStatus status) {
+        return LetterStatusTable.lettersOf(letterStatuses.mask(status));
+    }
+
+    /**
+     * Returns a read-only view mapping every letter to the best status it has
+     * been given (or null if it has not been guessed). The view stays up to
+     * date as guesses are made.
+     */
+    public Map<Character, GuessStatus> getAllCharacterStatuses() {
+        return letterStatuses.asMap();
+    }
 
-        return result;
+    /**
+     * Returns the same letters as getAllCharactersWithStatus as a bitmask,
+     * where bit i stands for the letter 'A' + i.
+     */
+    public int getLetterMask(GuessStatus status) {
+        return letterStatuses.mask(status);
     }
 
-    // -r [--random] -s [--show] -v [--validate]
+    // -r [--random] -s [--show] -v [--validate] -h [--hard] -a [--absurdle] -l [--length] N
     public Model(String[] commandLineArgs) throws IOException {
+        this(commandLineArgs, WordRepository.shared(wordLength(commandLineArgs)));
+    }
+
+    /**
+     * Creates a game that takes its words from the given repository, which
+     * must hold words of the length the flags ask for.
+     */
+    Model(String[] commandLineArgs, WordRepository repository) throws IOException {
         // Interpret the command line flags
         List<String> args = Arrays.asList(commandLineArgs);
         this.flag_randomise = args.contains("-r");
         this.flag_showWord = args.contains("-s");
         this.flag_validateWord = args.contains("-v");
+        this.flag_hardMode = args.contains("-h");
+        this.flag_absurdle = args.contains("-a");
+        this.wordLength = wordLength(commandLineArgs);
 
-        // Load the possible target words
-        BufferedReader reader = new BufferedReader(new FileReader(Model.TARGET_POOL_FILENAME));
-        String line;
-        while ((line = reader.readLine()) != null) {
-            targetWords.add(line.trim());
-        }
+        long start = Metrics.start();
+        FlightEvents.Load event = new FlightEvents.Load();
+        event.begin();
 
-        if (this.flag_randomise) {
-            this.targetWord = targetWords.get(new Random().nextInt(targetWords.size())).toUpperCase();
+        assert repository.getWordLength() == wordLength : "The repository must hold words of length " + wordLength;
+
+        // Load the possible target words
+        this.repository = repository;
+        targetWords = repository.getPackedTargetWords();
+        candidates = repository.getCandidateIndex().newCandidateSet();
+        letterStatuses = new LetterStatusTable(wordLength);
+        hardModeConstraints = new HardModeConstraints(wordLength);
+
+        if (this.flag_absurdle) {
+            adversary = new Adversary(targetWords, wordLength);
+            startAbsurdle();
+        } else if (this.flag_randomise) {
+            setTargetWord(Feedback.unpack(targetWords[new Random().nextInt(targetWords.length)], wordLength));
+        } else if (wordLength != Feedback.WORD_LENGTH) {
+            // The fixed target is only five letters long, so other lengths start with their first word
+            setTargetWord(Feedback.unpack(targetWords[0], wordLength));
         }
 
         if (this.flag_validateWord) {
             // Load the valid English words
-            reader = new BufferedReader(new FileReader(Model.VALID_POOL_FILENAME));
-            while ((line = reader.readLine()) != null) {
-                validWords.add(line.trim());
+            validWords = repository.getValidWords();
+            prefix = repository.getWordGraph().newCursor();
+        }
+
+        event.targetCount = targetWords.length;
+        event.commit();
+        Metrics.LOAD.record(start);
+    }
+
+    /**
+     * Returns the word length asked for by the -l flag, or 5 if the flag is
+     * not given.
+     */
+    public static int wordLength(String[] commandLineArgs) {
+        List<String> args = Arrays.asList(commandLineArgs);
+        int index = args.indexOf("-l");
+        if (index < 0) {
+            return Feedback.WORD_LENGTH;
+        }
+
+        int length;
+        try {
+            length = Integer.parseInt(args.get(index + 1));
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("-l must be followed by the number of letters");
+        }
+
+        if (length < MIN_WORD_LENGTH || length > Feedback.MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("The number of letters must be between " + MIN_WORD_LENGTH + " and " + Feedback.MAX_WORD_LENGTH);
+        }
+
+        return length;
+    }
+
+    /**
+     * Returns the feedback code (see {@link Feedback}) for an allowed guess
+     * played against a possible target. Guesses are indexed over words.txt
+     * followed by common.txt and any ingested words (see
+     * {@link WordRepository#getPackedGuessWords}), and targets over
+     * common.txt. Only five-letter games have a feedback matrix.
+     */
+    public int feedback(int guessIndex, int targetIndex) {
+        return getFeedbackMatrix().feedback(guessIndex, targetIndex);
+    }
+
+    /**
+     * Returns the feedback matrix for the word lists, building its cache file
+     * the first time it is needed.
+     */
+    public FeedbackMatrix getFeedbackMatrix() {
+        try {
+            return repository.getFeedbackMatrix();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns up to k suggested guesses, best first, ranked by how much they
+     * are expected to narrow down the target words still consistent with
+     * the guesses made so far. A single suggestion comes from the decision
+     * tree when one has been built and the game has followed it; anything
+     * else is ranked live and kept in the shared {@link HintCache}. The
+     * solver only knows five-letter words, so games of any other length
+     * suggest the first k target words still possible instead.
+     */
+    public List<String> suggestGuesses(int k) {
+        int[] guessWords = getPackedGuessWords();
+
+        // The decision tree holds the solver's single best guess for every game that has followed it
+        if (k == 1 && !flag_hardMode) {
+            int best = lookupDecisionTree(guessWords);
+            if (best >= 0) {
+                return List.of(Feedback.unpack(guessWords[best], wordLength));
+            }
+        }
+
+        // Hints depend only on the (guess, code) pairs seen, how many are asked for and the mode
+        long key = HintCache.keyOf(fingerprint, k, flag_hardMode);
+        return repository.getHintCache().get(key, () -> rankGuesses(guessWords, k));
+    }
+
+    private List<String> rankGuesses(int[] guessWords, int k) {
+        if (wordLength != Feedback.WORD_LENGTH) {
+            int[] remaining = candidates.remainingCandidates();
+            List<String> suggestions = new ArrayList<>();
+            for (int i = 0; i < remaining.length && i < k; i++) {
+                suggestions.add(Feedback.unpack(targetWords[remaining[i]], wordLength));
             }
 
-            validWords.addAll(targetWords);
+            return suggestions;
+        }
+
+        Solver solver;
+        try {
+            solver = repository.getSolver();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int[] ranking;
+        if (flag_hardMode && !guesses.isEmpty()) {
+            int[] allowed = new int[guessWords.length];
+            int allowedCount = hardModeConstraints.filter(guessWords, allowed);
+            ranking = solver.rank(candidates.remainingCandidates(), allowed, allowedCount, k);
+        } else {
+            ranking = solver.rank(candidates.remainingCandidates(), k);
+        }
+
+        List<String> suggestions = new ArrayList<>();
+        for (int index: ranking) {
+            suggestions.add(Feedback.unpack(guessWords[index], wordLength));
+        }
+
+        return suggestions;
+    }
+
+    /**
+     * Returns the allowed guesses matching a {@link WordQuery}, such as
+     * "A?D?O +R -E 3!S". Throws an IllegalArgumentException if the query
+     * cannot be parsed.
+     */
+    public SearchResults searchWords(String query) {
+        WordQuery parsed = WordQuery.parse(query, wordLength);
+
+        try {
+            return repository.getWordSearch().search(parsed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the indices (into common.txt) of the target words that are
+     * still consistent with the guesses made so far.
+     */
+    public int[] remainingCandidates() {
+        return candidates.remainingCandidates();
+    }
+
+    /**
+     * Returns how many target words are still consistent with the guesses
+     * made so far. This is kept up to date by makeGuess and costs nothing.
+     */
+    public int remainingCount() {
+        return candidates.remainingCount();
+    }
+
+    public int[] getPackedTargetWords() {
+        return targetWords;
+    }
+
+    public int[] getPackedGuessWords() {
+        try {
+            return repository.getPackedGuessWords();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
     public boolean isValidGuess(String guess) {
         assert guess != null : "Guess must be non-null";
-        assert guess.trim().length() == 5 : "Guess must be of length 5";
+        assert guess.trim().length() == wordLength : "Guess must be of length " + wordLength;
         assert guess.trim().matches("[a-zA-Z]+") : "Guess must only contain alphabetic characters";
 
-        return validWords.contains(guess.toLowerCase());
+        long start = Metrics.start();
+        FlightEvents.Validate event = new FlightEvents.Validate();
+        event.begin();
+
+        boolean isValid = validWords != null && validWords.contains(guess);
+
+        if (event.shouldCommit()) {
+            event.guess = guess;
+            event.isValid = isValid;
+            event.commit();
+        }
+        Metrics.VALIDATE.record(start);
+
+        return isValid;
+    }
+
+    /**
+     * Returns a message describing the hint a guess fails to use, or null if
+     * it may be played. Only hard mode rejects guesses this way.
+     */
+    public String hardModeViolation(String guess) {
+        assert guess != null : "Guess must be non-null";
+        assert guess.trim().length() == wordLength : "Guess must be of length " + wordLength;
+        assert guess.trim().matches("[a-zA-Z]+") : "Guess must only contain alphabetic characters";
+
+        if (!flag_hardMode) {
+            return null;
+        }
+
+        int packedGuess = Feedback.pack(guess.trim());
+        return hardModeConstraints.allows(packedGuess) ? null : hardModeConstraints.describeViolation(packedGuess);
     }
 
     public boolean isGuessCorrect(String guess) {
         assert guess != null : "Guess must be non-null";
-        assert guess.trim().length() == 5 : "Guess must be of length 5";
+        assert guess.trim().length() == wordLength : "Guess must be of length " + wordLength;
         assert guess.trim().matches("[a-zA-Z]+") : "Guess must only contain alphabetic characters";
 
         return guess.toUpperCase().equals(targetWord);
@@ -162,47 +448,172 @@ public class Model extends Observable {
 
     public void makeGuess(String guess) {
         assert guess != null : "Guess must be non-null";
-        assert guess.trim().length() == 5 : "Guess must be of length 5";
+        assert guess.trim().length() == wordLength : "Guess must be of length " + wordLength;
         assert guess.trim().matches("[a-zA-Z]+") : "Guess must only contain alphabetic characters";
 
-        guesses.add(generateGuessData(guess.toUpperCase()));
-
-        if (guess.toUpperCase().equals(targetWord)) {
+        long start = Metrics.start();
+        FlightEvents.Guess event = new FlightEvents.Guess();
+        event.begin();
+
+        int packedGuess = Feedback.pack(guess);
+        int code = isAdversaryActive ? respond(packedGuess) : score(packedGuess);
+        packedGuesses[guesses.size()] = packedGuess;
+        guessCodes[guesses.size()] = code;
+        guesses.add(GuessItem.unpack(packedGuess, code, wordLength));
+        candidates.narrow(packedGuess, code);
+        letterStatuses.record(packedGuess, code);
+        hardModeConstraints.record(packedGuess, code);
+        fingerprint = HintCache.addToFingerprint(fingerprint, packedGuess, code);
+
+        if (code == Feedback.allCorrect(wordLength)) {
             hasWon = true;
         }
         else if (guesses.size() == GUESSES_ALLOWED) {
             hasWon = false;
         }
 
-        setChanged();
-        notifyObservers();
+        if (isGameFinished() && targetWord == null) {
+            // The adversary never had to choose, so any word it kept will do
+            setTargetWord(Feedback.unpack(packedTargetWord, wordLength));
+        }
+
+        clearGuessInProgress();
+        fire(new GameEvent.GuessScored(guesses.size() - 1, packedGuess, wordLength, code, remainingCount(), isGameFinished()));
+
+        if (event.shouldCommit()) {
+            event.guess = Feedback.unpack(packedGuess, wordLength);
+            event.code = code;
+            event.remainingCount = remainingCount();
+            event.commit();
+        }
+        Metrics.MAKE_GUESS.record(start);
+
+        // Journal records hold five-letter guesses indexed over common.txt
+        if (isGameFinished() && journal != null && wordLength == Feedback.WORD_LENGTH) {
+            recordGame();
+        }
     }
 
     // =============== PRIVATE ==================
 
     public List<GuessItem> generateGuessData(String guess) {
         assert guess != null : "Guess must be non-null";
-        assert guess.trim().length() == 5 : "Guess must be of length 5";
+        assert guess.trim().length() == wordLength : "Guess must be of length " + wordLength;
         assert guess.trim().matches("[a-zA-Z]+") : "Guess must only contain alphabetic characters";
 
-        List<GuessItem> items = new ArrayList<>();
+        int packedGuess = Feedback.pack(guess);
+        return GuessItem.unpack(packedGuess, score(packedGuess), wordLength);
+    }
 
-        for (int i = 0; i < targetWord.length(); i++) {
-            GuessItem item;
+    /**
+     * Lets the adversary choose the feedback for a guess, and fixes the
+     * target once only one word is left.
+     */
+    private int respond(int packedGuess) {
+        long start = Metrics.start();
+        FlightEvents.Feedback event = new FlightEvents.Feedback();
+        event.begin();
+
+        int code = adversary.respond(packedGuess);
+
+        commitFeedback(event, packedGuess, code, true);
+        Metrics.FEEDBACK.record(start);
+
+        // Until the target is fixed, score previews against a word that is still possible
+        packedTargetWord = adversary.remainingTarget(0);
+        if (adversary.remainingCount() == 1) {
+            setTargetWord(Feedback.unpack(packedTargetWord, wordLength));
+            isAdversaryActive = false;
+        }
 
-            if (targetWord.charAt(i) == guess.charAt(i)) {
-                item = new GuessItem(guess.charAt(i), GuessStatus.CORRECT);
-            }
-            else if (targetWord.chars().boxed().collect(Collectors.toSet()).contains((int)guess.charAt(i))) {
-                item = new GuessItem(guess.charAt(i), GuessStatus.MISPLACED);
-            }
-            else {
-                item = new GuessItem(guess.charAt(i), GuessStatus.INCORRECT);
+        return code;
+    }
+
+    private void startAbsurdle() {
+        adversary.reset();
+        isAdversaryActive = true;
+        targetWord = null;
+        packedTargetWord = adversary.remainingTarget(0);
+    }
+
+    private int score(int packedGuess) {
+        long start = Metrics.start();
+        FlightEvents.Feedback event = new FlightEvents.Feedback();
+        event.begin();
+
+        int code = Feedback.score(packedGuess, packedTargetWord, wordLength);
+
+        commitFeedback(event, packedGuess, code, false);
+        Metrics.FEEDBACK.record(start);
+
+        return code;
+    }
+
+    private void commitFeedback(FlightEvents.Feedback event, int packedGuess, int code, boolean isAdversary) {
+        if (event.shouldCommit()) {
+            event.guess = Feedback.unpack(packedGuess, wordLength);
+            event.code = code;
+            event.isAdversary = isAdversary;
+            event.commit();
+        }
+    }
+
+    private int lookupDecisionTree(int[] guessWords) {
+        DecisionTree tree;
+        try {
+            tree = repository.getDecisionTree();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return tree == null ? -1 : tree.lookup(guessWords, packedGuesses, guessCodes, guesses.size());
+    }
+
+    private void fire(GameEvent event) {
+        for (GameListener listener: listeners) {
+            listener.gameChanged(event);
+        }
+    }
+
+    private void clearGame() {
+        guesses.clear();
+        candidates.reset();
+        letterStatuses.clear();
+        hardModeConstraints.clear();
+        fingerprint = HintCache.emptyFingerprint();
+        clearGuessInProgress();
+        hasWon = null;
+    }
+
+    /**
+     * Empties the guess in progress without sending events, as the views
+     * redraw its row when the guess is scored or the game is reset.
+     */
+    private void clearGuessInProgress() {
+        guessInProgress = "";
+        if (prefix != null) {
+            prefix.truncate(0);
+        }
+    }
+
+    private void recordGame() {
+        int targetIndex = GameJournal.NO_TARGET;
+        for (int t = 0; t < targetWords.length; t++) {
+            if (targetWords[t] == packedTargetWord) {
+                targetIndex = t;
+                break;
             }
+        }
 
-            items.add(item);
+        try {
+            journal.append(targetIndex, packedGuesses, guesses.size(), hasWon, flag_hardMode, System.currentTimeMillis() / 1000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        return items;
+    private void setTargetWord(String word) {
+        targetWord = word.toUpperCase();
+        packedTargetWord = Feedback.pack(targetWord);
     }
 }
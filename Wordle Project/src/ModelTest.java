@@ -1,6 +1,20 @@
 import org.junit.jupiter.api.Test;
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.event.KeyEvent;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,6 +31,7 @@ class ModelTest {
     public void testModelValidatesWord() throws IOException {
         Model model = new Model(new String[] { "-v" });
         assertTrue(model.isValidGuess("AUDIO"));
+        assertTrue(model.isValidGuess("zymic"));
         assertFalse(model.isValidGuess("AAAAA"));
     }
 
@@ -55,4 +70,1001 @@ class ModelTest {
         assertEquals(guessItems.get(3).status, GuessStatus.INCORRECT);
         assertEquals(guessItems.get(4).status, GuessStatus.INCORRECT);
     }
-}
\ No newline at end of file
+
+    /**
+     * Ensures that a repeated letter is only marked as misplaced while the
+     * target word still has an unmatched copy of it.
+     * @throws IOException
+     */
+    @Test
+    public void testGeneratesCorrectHintsForRepeatedLetters() throws IOException {
+        // Default word is "AUDIO"
+
+        Model model = new Model(new String[] {  });
+        List<GuessItem> guessItems = model.generateGuessData("DDOOZ");
+        assertEquals(guessItems.get(0).status, GuessStatus.MISPLACED);
+        assertEquals(guessItems.get(1).status, GuessStatus.INCORRECT);
+        assertEquals(guessItems.get(2).status, GuessStatus.MISPLACED);
+        assertEquals(guessItems.get(3).status, GuessStatus.INCORRECT);
+        assertEquals(guessItems.get(4).status, GuessStatus.INCORRECT);
+
+        guessItems = model.generateGuessData("OOZOO");
+        assertEquals(guessItems.get(0).status, GuessStatus.INCORRECT);
+        assertEquals(guessItems.get(4).status, GuessStatus.CORRECT);
+    }
+
+    /**
+     * Ensures that packed feedback codes round-trip through the per-tile
+     * statuses.
+     */
+    @Test
+    public void testFeedbackCodeMatchesTileStatuses() {
+        int code = Feedback.score(Feedback.pack("ATONE"), Feedback.pack("AUDIO"));
+        assertEquals(code, 2 + 1 * 9);
+        assertEquals(Feedback.score(Feedback.pack("audio"), Feedback.pack("AUDIO")), Feedback.ALL_CORRECT);
+        assertEquals(Feedback.unpack(Feedback.pack("atone")), "ATONE");
+    }
+
+    /**
+     * Ensures that the cached feedback matrix agrees with scoring each pair
+     * of words directly.
+     * @throws IOException
+     */
+    @Test
+    public void testFeedbackMatrixMatchesDirectScoring() throws IOException {
+        Model model = new Model(new String[] {  });
+        int[] guessWords = model.getPackedGuessWords();
+        int[] targetWords = model.getPackedTargetWords();
+
+        for (int g = 0; g < guessWords.length; g += 97) {
+            for (int t = 0; t < targetWords.length; t += 31) {
+                assertEquals(model.feedback(g, t), Feedback.score(guessWords[g], targetWords[t]));
+            }
+        }
+    }
+
+    /**
+     * Ensures that hints are offered, and that once only one target word is
+     * consistent with the guesses made so far, that word is the hint.
+     * @throws IOException
+     */
+    @Test
+    public void testSuggestsGuesses() throws IOException {
+        // Default word is "AUDIO"
+
+        Model model = new Model(new String[] {  });
+        assertEquals(model.suggestGuesses(5).size(), 5);
+
+        model.makeGuess("RADIO");
+        model.makeGuess("PLUMB");
+        assertEquals(model.suggestGuesses(5), List.of("AUDIO"));
+    }
+
+    /**
+     * Ensures that the candidate index keeps exactly the target words that
+     * would have produced the feedback seen so far, and that reset restores
+     * all of them.
+     * @throws IOException
+     */
+    @Test
+    public void testNarrowsRemainingCandidates() throws IOException {
+        // Default word is "AUDIO"
+
+        Model model = new Model(new String[] {  });
+        int[] targetWords = model.getPackedTargetWords();
+        assertEquals(model.remainingCount(), targetWords.length);
+
+        String[] guesses = { "SOLID", "RADIO", "OXIDE" };
+        for (int i = 0; i < guesses.length; i++) {
+            model.makeGuess(guesses[i]);
+
+            int expected = 0;
+            for (int target: targetWords) {
+                boolean matches = true;
+                for (int j = 0; j <= i; j++) {
+                    int guess = Feedback.pack(guesses[j]);
+                    matches &= Feedback.score(guess, target) == Feedback.score(guess, Feedback.pack("AUDIO"));
+                }
+                expected += matches ? 1 : 0;
+            }
+
+            assertEquals(model.remainingCount(), expected);
+            assertEquals(model.remainingCandidates().length, expected);
+        }
+
+        model.reset();
+        assertEquals(model.remainingCount(), targetWords.length);
+    }
+
+    /**
+     * Ensures that games share one copy of the word lists rather than each
+     * loading their own.
+     * @throws IOException
+     */
+    @Test
+    public void testGamesShareWordLists() throws IOException {
+        Model first = new Model(new String[] { "-r" });
+        Model second = new Model(new String[] { "-r" });
+        assertTrue(first.getPackedTargetWords() == second.getPackedTargetWords());
+        assertEquals(first.getPackedTargetWords().length, 2315);
+        assertEquals(first.getPackedGuessWords().length, 10657 + 2315);
+    }
+
+    /**
+     * Ensures that letter statuses are tracked across guesses and cleared
+     * when a new game starts.
+     * @throws IOException
+     */
+    @Test
+    public void testTracksLetterStatuses() throws IOException {
+        // Default word is "AUDIO"
+
+        Model model = new Model(new String[] {  });
+        assertEquals(model.getAllCharactersWithStatus(null).size(), 26);
+
+        model.makeGuess("RADIO");
+        model.makeGuess("ABOUT");
+        assertEquals(model.getAllCharactersWithStatus(GuessStatus.CORRECT), List.of('A', 'D', 'I', 'O'));
+        assertEquals(model.getAllCharactersWithStatus(GuessStatus.MISPLACED), List.of('A', 'O', 'U'));
+        assertEquals(model.getAllCharactersWithStatus(GuessStatus.INCORRECT), List.of('B', 'R', 'T'));
+        assertEquals(model.getAllCharacterStatuses().get('A'), GuessStatus.CORRECT);
+        assertEquals(model.getAllCharacterStatuses().get('U'), GuessStatus.MISPLACED);
+        assertNull(model.getAllCharacterStatuses().get('Z'));
+
+        model.reset();
+        assertEquals(model.getLetterMask(GuessStatus.CORRECT), 0);
+        assertNull(model.getAllCharacterStatuses().get('A'));
+        assertEquals(model.getAllCharactersWithStatus(null).size(), 26);
+    }
+
+    /**
+     * Ensures that the model sends one event per change, carrying only what
+     * changed.
+     * @throws IOException
+     */
+    @Test
+    public void testSendsEventsForEachChange() throws IOException {
+        Model model = new Model(new String[] {  });
+        List<String> events = new ArrayList<>();
+        model.addListener(event -> events.add(event.toString()));
+
+        model.setGuessInProgress("R");
+        model.setGuessInProgress("RA");
+        model.setGuessInProgress("R");
+        model.setGuessInProgress("RADIO");
+        model.makeGuess("RADIO");
+        model.reset();
+
+        assertEquals(events, List.of(
+            "LetterTyped(0, 0, R)",
+            "LetterTyped(0, 1, A)",
+            "LetterDeleted(0, 1)",
+            "LetterTyped(0, 1, A)",
+            "LetterTyped(0, 2, D)",
+            "LetterTyped(0, 3, I)",
+            "LetterTyped(0, 4, O)",
+            "GuessScored(0, RADIO, " + Feedback.score(Feedback.pack("RADIO"), Feedback.pack("AUDIO")) + ")",
+            "GameReset"));
+        assertEquals(model.getGuessInProgress(), "");
+    }
+
+    /**
+     * Ensures that commands submitted to a game loop from another thread run
+     * in order and are visible in the published snapshot.
+     * @throws Exception
+     */
+    @Test
+    public void testGameLoopPublishesSnapshots() throws Exception {
+        // Default word is "AUDIO"
+
+        GameLoop loop = new GameLoop(new Model(new String[] {  }));
+        loop.start();
+
+        CountDownLatch done = new CountDownLatch(1);
+        loop.submit(model -> model.setGuessInProgress("RADIO"));
+        loop.submit(model -> model.makeGuess(model.getGuessInProgress()));
+        loop.submit(model -> model.makeGuess("TOOLONG")); // fails an assertion, which the loop survives
+        loop.submit(model -> done.countDown());
+        done.await();
+        assertTrue(loop.isAlive());
+        loop.stop();
+
+        GameState state = loop.getState();
+        assertEquals(state.guesses.size(), 1);
+        assertEquals(state.guessInProgress, "");
+        assertEquals(state.remainingGuesses, 5);
+        assertFalse(state.isGameFinished);
+        assertThrows(UnsupportedOperationException.class, () -> state.guesses.get(0).set(0, null));
+    }
+
+    /**
+     * Ensures that a multi-board game plays each guess on every unsolved
+     * board and stops playing on a board once it is solved.
+     * @throws IOException
+     */
+    @Test
+    public void testMultiBoardPlaysGuessOnUnsolvedBoards() throws IOException {
+        MultiBoardModel model = new MultiBoardModel(new String[] { "-b", "4" });
+        model.reset("AUDIO", "PLUMB", "CRANE", "SHIRT");
+        assertEquals(model.getGuessesAllowed(), 9);
+
+        model.makeGuess("PLUMB");
+        model.makeGuess("CRANE");
+        String[] targets = { "AUDIO", "PLUMB", "CRANE", "SHIRT" };
+        for (int b = 0; b < targets.length; b++) {
+            assertEquals(model.getCode(b, 0), Feedback.score(Feedback.pack("PLUMB"), Feedback.pack(targets[b])));
+        }
+        assertEquals(model.getSolvedAt(1), 0);
+        assertNull(model.getBoardRow(1, 1));
+        assertEquals(model.getCode(2, 1), Feedback.ALL_CORRECT);
+        assertEquals(model.getSolvedCount(), 2);
+        assertFalse(model.isGameFinished());
+
+        model.makeGuess("AUDIO");
+        model.makeGuess("SHIRT");
+        assertTrue(model.isGameWon());
+        assertEquals(model.suggestGuesses(3), List.of());
+    }
+
+    /**
+     * Ensures that hard mode only accepts guesses that use every revealed
+     * hint, and that its filter agrees with checking each word directly.
+     * @throws IOException
+     */
+    @Test
+    public void testHardModeRequiresRevealedHints() throws IOException {
+        // Default word is "AUDIO"
+
+        Model model = new Model(new String[] { "-h" });
+        assertNull(model.hardModeViolation("RADIO"));
+        model.makeGuess("RADIO"); // R incorrect, A misplaced, D, I and O correct
+
+        assertNull(model.hardModeViolation("AUDIO"));
+        assertEquals(model.hardModeViolation("PATIO"), "3rd letter must be D");
+        assertEquals(model.hardModeViolation("RODIO"), "Guess must contain A");
+        assertEquals(model.hardModeViolation("RADIO"), "2nd letter cannot be A");
+
+        HardModeConstraints constraints = new HardModeConstraints();
+        constraints.record(Feedback.pack("RADIO"), Feedback.score(Feedback.pack("RADIO"), Feedback.pack("AUDIO")));
+        int[] guessWords = model.getPackedGuessWords();
+        int[] allowed = new int[guessWords.length];
+        int allowedCount = constraints.filter(guessWords, allowed);
+
+        int expected = 0;
+        for (int word: guessWords) {
+            String s = Feedback.unpack(word);
+            if (s.endsWith("DIO") && s.charAt(1) != 'A' && s.indexOf('A') >= 0) {
+                expected++;
+            }
+        }
+        assertEquals(allowedCount, expected);
+
+        for (String suggestion: model.suggestGuesses(3)) {
+            assertNull(model.hardModeViolation(suggestion));
+        }
+    }
+
+    /**
+     * Ensures that finished games are appended to the journal, that the
+     * statistics are computed from it, and that a torn record left by a
+     * crash is cut off when the journal is reopened.
+     * @throws IOException
+     */
+    @Test
+    public void testJournalRecordsGamesAndRecovers() throws IOException {
+        // Default word is "AUDIO"
+
+        Path file = Files.createTempFile("wordle", ".journal");
+        try {
+            Model model = new Model(new String[] {  });
+            try (GameJournal journal = GameJournal.open(file)) {
+                model.setJournal(journal);
+                model.makeGuess("RADIO");
+                model.makeGuess("AUDIO");
+
+                model.reset();
+                for (int i = 0; i < 6; i++) {
+                    model.makeGuess("PLUMB");
+                }
+
+                assertEquals(journal.size(), 2L);
+                assertEquals(Feedback.unpack(journal.guessAt(0, 1)), "AUDIO");
+                assertEquals(Feedback.unpack(journal.guessAt(1, 5)), "PLUMB");
+            }
+
+            // Half of a third record, as if the process died mid-append
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }));
+            }
+
+            try (GameJournal journal = GameJournal.open(file)) {
+                assertEquals(journal.size(), 2L);
+
+                JournalStats stats = journal.stats(model.getPackedTargetWords().length);
+                assertEquals(stats.getGames(), 2L);
+                assertEquals(stats.getWins(), 1L);
+                assertEquals(stats.getWinsIn(2), 1L);
+                assertEquals(stats.getLongestStreak(), 1L);
+                assertEquals(stats.getCurrentStreak(), 0L);
+                assertEquals(stats.hardestTargets(5, 1).length, 1);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Ensures that the analysis of a finished game replays the candidates
+     * left before each guess and never rates a guess above the best one.
+     * @throws IOException
+     */
+    @Test
+    public void testAnalysesFinishedGame() throws IOException {
+        // Default word is "AUDIO"
+
+        Model model = new Model(new String[] {  });
+        model.makeGuess("RADIO");
+        model.makeGuess("PLUMB");
+        model.makeGuess("AUDIO");
+
+        List<GuessAnalysis> analysis = GameAnalysis.of(model);
+        assertEquals(analysis.size(), 3);
+        assertEquals(analysis.get(0).remainingCount, model.getPackedTargetWords().length);
+        assertEquals(analysis.get(2).remainingCount, 1);
+        assertEquals(Feedback.unpack(analysis.get(2).packedBestGuess), "AUDIO");
+        for (GuessAnalysis guess: analysis) {
+            assertTrue(guess.information <= guess.bestInformation + 1e-9);
+        }
+    }
+
+    /**
+     * Ensures that once metrics are enabled every guess is counted and timed.
+     * @throws IOException
+     */
+    @Test
+    public void testMetricsCountGuesses() throws IOException {
+        boolean wasEnabled = Metrics.isEnabled;
+        Metrics.enable(false);
+
+        try {
+            long before = Metrics.MAKE_GUESS.count();
+
+            Model model = new Model(new String[] {  });
+            model.makeGuess("RADIO");
+            model.makeGuess("AUDIO");
+
+            assertEquals(Metrics.MAKE_GUESS.count() - before, 2L);
+            assertTrue(Metrics.MAKE_GUESS.percentile(0.5) > 0);
+            assertTrue(Metrics.summary().contains("guess.make"));
+        } finally {
+            if (!wasEnabled) {
+                Metrics.disable();
+            }
+        }
+    }
+
+    /**
+     * Ensures that every scored guess is sent to a running flight recording,
+     * whether it was scored or chosen by the adversary.
+     * @throws IOException
+     */
+    @Test
+    public void testRecordsFeedbackFlightEvents() throws IOException {
+        // Default word is "AUDIO"
+
+        Path file = Files.createTempFile("wordle", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("wordle.Feedback");
+            recording.start();
+
+            Model model = new Model(new String[] {  });
+            model.makeGuess("RADIO");
+            new Model(new String[] { "-a" }).makeGuess("RAISE");
+
+            recording.stop();
+            recording.dump(file);
+
+            List<String> events = new ArrayList<>();
+            for (RecordedEvent event: RecordingFile.readAllEvents(file)) {
+                if (!event.getEventType().getName().equals("wordle.Feedback")) {
+                    continue;
+                }
+                events.add(event.getString("guess") + " " + event.getBoolean("isAdversary"));
+                if (!event.getBoolean("isAdversary")) {
+                    assertEquals(event.getInt("code"), Feedback.score(Feedback.pack("RADIO"), Feedback.pack("AUDIO")));
+                }
+            }
+            assertEquals(events, List.of("RADIO false", "RAISE true"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Ensures that walking the decision tree gives the same guess as ranking
+     * the candidates live, and that leaving the tree is detected.
+     * @throws IOException
+     */
+    @Test
+    public void testDecisionTreeMatchesSolver() throws IOException {
+        WordRepository repository = WordRepository.shared();
+        int[] guessWords = repository.getPackedGuessWords();
+        int[] targetWords = repository.getPackedTargetWords();
+        Solver solver = repository.getSolver();
+
+        Path file = Files.createTempFile("wordle", ".tree");
+        try {
+            DecisionTree.build(file, solver, repository.getFeedbackMatrix(), guessWords, targetWords);
+            DecisionTree tree = DecisionTree.load(file, guessWords, targetWords);
+            assertNotNull(tree);
+
+            for (String target: new String[] { "AUDIO", "PLUMB", "FUZZY" }) {
+                Model model = new Model(new String[] {  });
+                model.reset(target);
+                int[] packedGuesses = new int[6];
+                int[] codes = new int[6];
+
+                for (int g = 0; !model.isGameFinished(); g++) {
+                    int best = tree.lookup(guessWords, packedGuesses, codes, g);
+                    assertEquals(best, solver.rank(model.remainingCandidates(), 1)[0]);
+
+                    packedGuesses[g] = guessWords[best];
+                    codes[g] = Feedback.score(packedGuesses[g], Feedback.pack(target));
+                    model.makeGuess(Feedback.unpack(guessWords[best]));
+                }
+            }
+
+            assertEquals(tree.lookup(guessWords, new int[] { Feedback.pack("ZZZZZ") }, new int[] { 0 }, 1), -1);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Ensures that the hint cache fingerprint ignores the order of guesses,
+     * and that the cache evicts to stay within its budget.
+     * @throws IOException
+     */
+    @Test
+    public void testHintCacheIsOrderIndependentAndBounded() throws IOException {
+        int radio = Feedback.pack("RADIO");
+        int plumb = Feedback.pack("PLUMB");
+        long forwards = HintCache.addToFingerprint(HintCache.addToFingerprint(HintCache.emptyFingerprint(), radio, 5), plumb, 7);
+        long backwards = HintCache.addToFingerprint(HintCache.addToFingerprint(HintCache.emptyFingerprint(), plumb, 7), radio, 5);
+        assertEquals(forwards, backwards);
+        assertNotEquals(forwards, HintCache.addToFingerprint(HintCache.emptyFingerprint(), radio, 5));
+
+        // Six-letter codes reach past eight bits, and counts and modes must not trade off against the fingerprint
+        assertNotEquals(HintCache.addToFingerprint(0, Feedback.pack("BANANA"), 0), HintCache.addToFingerprint(0, Feedback.pack("AANANA"), 256));
+        assertNotEquals(HintCache.keyOf(forwards, 17, false), HintCache.keyOf(forwards + 1, 1, true));
+        assertNotEquals(HintCache.keyOf(forwards, 1, false), HintCache.keyOf(forwards, 1, true));
+
+        HintCache cache = new HintCache(16 * 1024);
+        assertEquals(cache.get(forwards, () -> List.of("AUDIO")), List.of("AUDIO"));
+        assertEquals(cache.get(backwards, () -> List.of("WRONG")), List.of("AUDIO"));
+        assertEquals(cache.hitCount(), 1L);
+        assertEquals(cache.missCount(), 1L);
+
+        for (long key = 0; key < 10_000; key++) {
+            cache.get(key, () -> List.of("AUDIO"));
+        }
+        assertTrue(cache.evictionCount() > 0);
+        assertTrue(cache.size() < 10_000);
+    }
+
+    /**
+     * Ensures that in Absurdle mode the feedback keeps the largest bucket of
+     * targets, and that the target is only chosen once one word is left.
+     * @throws IOException
+     */
+    @Test
+    public void testAbsurdleKeepsLargestBucket() throws IOException {
+        Model model = new Model(new String[] { "-a" });
+        int[] targetWords = model.getPackedTargetWords();
+        assertEquals(model.getTargetWord(), null);
+
+        int[] bucketSizes = new int[Feedback.CODE_COUNT];
+        for (int target: targetWords) {
+            bucketSizes[Feedback.score(Feedback.pack("CRANE"), target)]++;
+        }
+        int largest = Arrays.stream(bucketSizes).max().getAsInt();
+
+        model.makeGuess("CRANE");
+        assertEquals(model.remainingCount(), largest);
+        assertFalse(model.isGameWon());
+        assertEquals(model.getTargetWord(), null);
+
+        // Guessing a remaining candidate every time narrows the game down to one word
+        while (!model.isGameFinished()) {
+            model.makeGuess(Feedback.unpack(targetWords[model.remainingCandidates()[0]]));
+        }
+        assertNotEquals(model.getTargetWord(), null);
+        assertTrue(Feedback.pack(model.getTargetWord()) == targetWords[model.remainingCandidates()[0]]);
+
+        model.reset();
+        assertEquals(model.getTargetWord(), null);
+        assertEquals(model.remainingCount(), targetWords.length);
+    }
+
+    /**
+     * Ensures that word searches match a brute-force scan of the allowed
+     * guesses, in alphabetical order, and page through the same results.
+     * @throws IOException
+     */
+    @Test
+    public void testSearchesWordsByPattern() throws IOException {
+        Model model = new Model(new String[] {  });
+        assertTrue(model.searchWords("A?D?O").page(0, 10).contains("AUDIO"));
+
+        List<String> expected = new ArrayList<>();
+        for (int packed: model.getPackedGuessWords()) {
+            String word = Feedback.unpack(packed);
+            if (word.contains("R") && word.contains("T") && !word.contains("E") && word.charAt(2) != 'S') {
+                expected.add(word);
+            }
+        }
+        expected.sort(null);
+
+        SearchResults results = model.searchWords("+rt -e 3!s");
+        List<String> matches = new ArrayList<>();
+        results.forEach(matches::add);
+        assertEquals(results.count(), expected.size());
+        assertEquals(matches, expected);
+
+        List<String> paged = new ArrayList<>();
+        for (int page = 0; page * 7 < results.count(); page++) {
+            paged.addAll(results.page(page, 7));
+        }
+        assertEquals(paged, expected);
+
+        assertEquals(model.searchWords("+EEEEEE").count(), 0);
+        assertThrows(IllegalArgumentException.class, () -> model.searchWords("A?D"));
+    }
+
+    /**
+     * Ensures that the word graph accepts exactly the prefixes of allowed
+     * guesses, and that the model reports when the guess in progress stops
+     * being one.
+     * @throws IOException
+     */
+    @Test
+    public void testChecksPrefixesWhileTyping() throws IOException {
+        Model model = new Model(new String[] { "-v" });
+        int[] guessWords = model.getPackedGuessWords();
+        WordGraph graph = WordGraph.of(guessWords);
+        assertTrue(graph.getNodeCount() < guessWords.length);
+
+        PrefixCursor cursor = graph.newCursor();
+        for (int word: guessWords) {
+            cursor.truncate(0);
+            for (int i = 0; i < Feedback.WORD_LENGTH; i++) {
+                cursor.push(Feedback.letterIndexAt(word, i));
+            }
+            assertTrue(cursor.isValid());
+        }
+
+        cursor.truncate(0);
+        cursor.push('Q' - 'A');
+        cursor.push('X' - 'A');
+        assertFalse(cursor.isValid());
+        cursor.pop();
+        assertTrue(cursor.isValid());
+
+        List<String> events = new ArrayList<>();
+        model.addListener(event -> {
+            if (event instanceof GameEvent.PrefixValidityChanged) {
+                events.add(event.toString());
+            }
+        });
+
+        model.setGuessInProgress("Q");
+        model.setGuessInProgress("QX");
+        assertFalse(model.isGuessInProgressValid());
+        model.setGuessInProgress("QXZ");
+        model.setGuessInProgress("QX");
+        model.setGuessInProgress("Q");
+        assertTrue(model.isGuessInProgressValid());
+
+        assertEquals(events, List.of("PrefixValidityChanged(0, false)", "PrefixValidityChanged(0, true)"));
+    }
+
+    /**
+     * Ensures that an input trace reads back the inputs it recorded, and
+     * that replaying it through the controller plays the same games.
+     * @throws IOException
+     */
+    @Test
+    public void testRecordsAndReplaysInputTraces() throws IOException {
+        // Default word is "AUDIO"
+
+        Path file = Files.createTempFile("wordle", ".trace");
+        try {
+            List<Entry> inputs = new ArrayList<>();
+            for (char c: "RADIO".toCharArray()) {
+                inputs.add(Entry.fromCharacter(c));
+            }
+            inputs.add(Entry.ENTER);
+            inputs.add(null);
+            for (char c: "AUDIX".toCharArray()) {
+                inputs.add(Entry.fromCharacter(c));
+            }
+            inputs.add(Entry.BACKSPACE);
+            inputs.add(Entry.O);
+            inputs.add(Entry.ENTER);
+
+            try (InputTrace.Recorder recorder = InputTrace.record(file)) {
+                for (Entry entry: inputs) {
+                    if (entry == null) {
+                        recorder.newGame();
+                    } else {
+                        recorder.entry(entry);
+                    }
+                }
+            }
+
+            List<Entry> read = new ArrayList<>();
+            InputTrace.forEach(file, (entry, timeMillis) -> read.add(entry));
+            assertEquals(read, inputs);
+            assertTrue(Files.size(file) <= 12 + 2 * inputs.size());
+
+            Replay replay = new Replay(new Model(new String[] {  }));
+            assertEquals(replay.run(file, 1), inputs.size());
+            assertEquals(replay.getState().guesses.size(), 1);
+            assertTrue(replay.getState().isGameWon);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Ensures that ingestion normalises, deduplicates and splits words by
+     * length, including when the words do not fit in one chunk.
+     * @throws IOException
+     */
+    @Test
+    public void testIngestsWordListsByLength() throws IOException {
+        Path directory = Files.createTempDirectory("wordle");
+        Path input = directory.resolve("input.txt");
+        Files.write(input, List.of("apple", "Apple ", "BANANA", "zebra", "it's", "hello world",
+                "\u00c9clair", "", "  quartz", "abcdefghijklm", "cat", "zebra"));
+
+        try {
+            int[] counts = new Ingest(directory, 4).run(List.of(input));
+            assertEquals(counts[3], 1);
+            assertEquals(counts[5], 2);
+            assertEquals(counts[6], 2);
+
+            Dictionary five = Dictionary.loadIngested(directory.resolve(Dictionary.ingestedFilename(5)), 5);
+            assertEquals(five.size(), 2);
+            assertTrue(five.contains("APPLE"));
+            assertTrue(five.contains("zebra"));
+            assertFalse(five.contains("HELLO"));
+
+            Dictionary six = Dictionary.loadIngested(directory.resolve(Dictionary.ingestedFilename(6)), 6);
+            assertTrue(six.contains("banana"));
+            assertTrue(six.contains("QUARTZ"));
+            assertFalse(six.contains("ECLAIR"));
+            assertEquals(Dictionary.loadIngested(directory.resolve(Dictionary.ingestedFilename(6)), 5), null);
+
+            Dictionary union = Dictionary.of(new int[] { Feedback.pack("AUDIO"), Feedback.pack("APPLE") }).union(five);
+            assertEquals(union.size(), 3);
+            assertTrue(union.contains("AUDIO"));
+            assertTrue(union.contains("ZEBRA"));
+        } finally {
+            for (int length = 1; length <= Dictionary.MAX_WORD_LENGTH; length++) {
+                Files.deleteIfExists(directory.resolve(Dictionary.ingestedFilename(length)));
+            }
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Ensures that the server keeps the games of different sessions apart,
+     * and forgets a session once it has ended.
+     * @throws IOException
+     */
+    @Test
+    public void testServerKeepsSessionsApart() throws IOException {
+        Server server = new Server(60_000);
+        String first = server.handle("NEW -v").substring(3);
+        String second = server.handle("new -v").substring(3);
+        assertNotEquals(first, second);
+        assertEquals(server.getSessionCount(), 2);
+
+        Model expected = new Model(new String[] {  });
+        expected.makeGuess("RADIO");
+        assertEquals(server.handle("GUESS " + first + " radio"), "OK .YGGG PLAYING 5 " + expected.remainingCount());
+        assertEquals(server.handle("STATE " + second), "OK PLAYING 6 " + expected.getPackedTargetWords().length);
+
+        assertEquals(server.handle("GUESS " + first + " AUDIO"), "OK GGGGG WON 4 1");
+        assertEquals(server.handle("GUESS " + first + " AUDIO"), "ERR game finished");
+        assertEquals(server.handle("END " + first), "OK AUDIO");
+        assertEquals(server.handle("STATE " + first), "ERR unknown session");
+        assertEquals(server.handle("STATE"), "ERR missing session");
+        assertEquals(server.getSessionCount(), 1);
+    }
+
+    /**
+     * Ensures that the server only checks guesses against the word list
+     * when the game was started with -v, and not with -s.
+     * @throws IOException
+     */
+    @Test
+    public void testServerValidatesOnlyWhenAsked() throws IOException {
+        Server server = new Server(60_000);
+        String validated = server.handle("NEW -v").substring(3);
+        String shown = server.handle("NEW -s").substring(3);
+
+        assertEquals(server.handle("GUESS " + validated + " AAAAA"), "ERR not in word list");
+        assertEquals(server.handle("GUESS " + validated + " AUD"), "ERR guess must be 5 letters");
+        Model expected = new Model(new String[] { "-s" });
+        expected.makeGuess("AAAAA");
+        assertEquals(server.handle("GUESS " + shown + " AAAAA"), "OK G.... PLAYING 5 " + expected.remainingCount());
+    }
+
+    /**
+     * Ensures that idle sessions are evicted and sessions in use are kept.
+     * @throws InterruptedException
+     */
+    @Test
+    public void testServerEvictsIdleSessions() throws InterruptedException {
+        Server server = new Server(1000);
+        String idle = server.handle("NEW -v").substring(3);
+        String busy = server.handle("NEW -v").substring(3);
+
+        server.evictIdleSessions();
+        assertEquals(server.getSessionCount(), 2);
+
+        Thread.sleep(600);
+        server.handle("STATE " + busy);
+        Thread.sleep(600);
+        server.evictIdleSessions();
+
+        assertEquals(server.getSessionCount(), 1);
+        assertEquals(server.handle("STATE " + idle), "ERR unknown session");
+        assertTrue(server.handle("STATE " + busy).startsWith("OK PLAYING"));
+    }
+
+    /**
+     * Ensures that the number of hints asked for is kept between 1 and 10.
+     */
+    @Test
+    public void testServerClampsHintCount() {
+        Server server = new Server(60_000);
+        String session = server.handle("NEW -v").substring(3);
+
+        assertEquals(server.handle("HINT " + session + " 0").split(" ").length, 2);
+        assertEquals(server.handle("HINT " + session + " -3").split(" ").length, 2);
+        assertEquals(server.handle("HINT " + session + " 4").split(" ").length, 5);
+        assertEquals(server.handle("HINT " + session + " 50").split(" ").length, 11);
+        assertTrue(server.handle("HINT " + session + " many").startsWith("ERR"));
+    }
+
+    /**
+     * Ensures that two journals open on the same file, as in two running
+     * games, append after each other's records instead of overwriting them.
+     * @throws IOException
+     */
+    @Test
+    public void testJournalAppendsFromSeveralWriters() throws IOException {
+        Path file = Files.createTempFile("wordle", ".journal");
+        int[] first = { Feedback.pack("RAISE") };
+        int[] second = { Feedback.pack("CLOUT") };
+
+        try (GameJournal a = GameJournal.open(file); GameJournal b = GameJournal.open(file)) {
+            a.append(0, first, 1, false, false, 1);
+            b.append(1, second, 1, false, true, 2);
+            a.append(2, first, 1, true, false, 3);
+
+            assertEquals(a.size(), 3L);
+            assertEquals(Feedback.unpack(a.guessAt(1, 0)), "CLOUT");
+        }
+
+        try (GameJournal journal = GameJournal.open(file)) {
+            List<String> guesses = new ArrayList<>();
+            journal.forEach((targetIndex, packedGuesses, guessCount, isWon, isHardMode) ->
+                    guesses.add(targetIndex + Feedback.unpack(packedGuesses[0]) + (isHardMode ? " hard" : "")));
+            assertEquals(guesses, List.of("0RAISE", "1CLOUT hard", "2RAISE"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Ensures that the analysis of a hard mode game only picks best guesses
+     * that hard mode allowed, and that the journal keeps the mode.
+     * @throws IOException
+     */
+    @Test
+    public void testAnalysesHardModeGame() throws IOException {
+        // Default word is "AUDIO"
+
+        Model model = new Model(new String[] { "-h" });
+        model.makeGuess("RADIO");
+        model.makeGuess("AUDIO");
+
+        HardModeConstraints constraints = new HardModeConstraints();
+        constraints.record(Feedback.pack("RADIO"), Feedback.score(Feedback.pack("RADIO"), Feedback.pack("AUDIO")));
+
+        List<GuessAnalysis> hard = GameAnalysis.of(model);
+        assertTrue(constraints.allows(hard.get(1).packedBestGuess));
+
+        GameAnalysis analysis = new GameAnalysis(WordRepository.shared());
+        int[] guesses = { Feedback.pack("RADIO"), Feedback.pack("AUDIO") };
+        List<GuessAnalysis> normal = analysis.analyze(Feedback.pack("AUDIO"), guesses, 2, false);
+        assertEquals(normal.get(0).packedBestGuess, hard.get(0).packedBestGuess);
+        assertTrue(hard.get(1).bestInformation <= normal.get(1).bestInformation + 1e-9);
+
+        assertThrows(IllegalArgumentException.class, () -> new Analyze(0));
+    }
+
+    /**
+     * Ensures that a dictionary writer closed without being committed, as
+     * when ingestion fails part way, leaves the existing dictionary and no
+     * temporary file behind.
+     * @throws IOException
+     */
+    @Test
+    public void testDiscardsUncommittedDictionary() throws IOException {
+        Path directory = Files.createTempDirectory("wordle");
+        Path file = directory.resolve(Dictionary.ingestedFilename(5));
+
+        try {
+            try (Dictionary.Writer writer = new Dictionary.Writer(file, 5, 0)) {
+                writer.add(Dictionary.pack("APPLE"));
+                writer.commit();
+            }
+
+            try (Dictionary.Writer writer = new Dictionary.Writer(file, 5, 0)) {
+                writer.add(Dictionary.pack("BERRY"));
+                writer.add(Dictionary.pack("CHARD"));
+            }
+
+            Dictionary dictionary = Dictionary.loadIngested(file, 5);
+            assertEquals(dictionary.size(), 1);
+            assertTrue(dictionary.contains("APPLE"));
+            assertEquals(directory.toFile().list().length, 1);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Ensures that ingestion merges more runs than it may open at once in
+     * passes, with the same result as a single merge, and cleans up its runs.
+     * @throws IOException
+     */
+    @Test
+    public void testIngestMergesRunsInPasses() throws IOException {
+        Path directory = Files.createTempDirectory("wordle");
+        Path input = directory.resolve("input.txt");
+        Files.write(input, List.of("apple", "Apple ", "BANANA", "zebra", "it's", "hello world",
+                "\u00c9clair", "", "  quartz", "abcdefghijklm", "cat", "zebra"));
+
+        try {
+            int[] counts = new Ingest(directory, 1, 2).run(List.of(input));
+            assertEquals(counts[3], 1);
+            assertEquals(counts[5], 2);
+            assertEquals(counts[6], 2);
+
+            Dictionary six = Dictionary.loadIngested(directory.resolve(Dictionary.ingestedFilename(6)), 6);
+            assertEquals(six.size(), 2);
+            assertTrue(six.contains("banana"));
+            assertTrue(six.contains("QUARTZ"));
+
+            // The input and three dictionaries, with no run directory left behind
+            assertEquals(directory.toFile().list().length, 4);
+        } finally {
+            for (int length = 1; length <= Dictionary.MAX_WORD_LENGTH; length++) {
+                Files.deleteIfExists(directory.resolve(Dictionary.ingestedFilename(length)));
+            }
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Ensures that a game can be played with words of another length, taken
+     * from the dictionary ingested for that length.
+     * @throws IOException
+     */
+    @Test
+    public void testPlaysConfiguredWordLength() throws IOException {
+        Path directory = Files.createTempDirectory("wordle");
+        Path file = directory.resolve(Dictionary.ingestedFilename(4));
+        long[] words = { Dictionary.pack("BOAT"), Dictionary.pack("COAT"), Dictionary.pack("GOAT"),
+                Dictionary.pack("MOAT"), Dictionary.pack("BEAR"), Dictionary.pack("TEAR") };
+        Arrays.sort(words);
+
+        try {
+            try (Dictionary.Writer writer = new Dictionary.Writer(file, 4, 0)) {
+                for (long word: words) {
+                    writer.add(word);
+                }
+                writer.commit();
+            }
+
+            Model model = new Model(new String[] { "-v", "-l", "4" }, WordRepository.withIngestedDirectory(4, directory));
+            assertEquals(model.getWordLength(), 4);
+            assertEquals(model.remainingCount(), 6);
+            model.reset("GOAT");
+
+            model.setGuessInProgress("GO");
+            assertTrue(model.isGuessInProgressValid());
+            model.setGuessInProgress("GX");
+            assertFalse(model.isGuessInProgressValid());
+
+            assertTrue(model.isValidGuess("boat"));
+            assertFalse(model.isValidGuess("ABCD"));
+            assertEquals(model.searchWords("?OAT").count(), 4);
+
+            model.makeGuess("BOAT");
+            List<GuessItem> row = model.getGuesses().get(0);
+            assertEquals(row.size(), 4);
+            assertEquals(row.get(0).status, GuessStatus.INCORRECT);
+            assertEquals(row.get(3).status, GuessStatus.CORRECT);
+            assertEquals(model.remainingCount(), 3);
+            assertEquals(model.suggestGuesses(2).size(), 2);
+
+            model.makeGuess("GOAT");
+            assertTrue(model.isGameWon());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+
+        assertEquals(Feedback.score(Feedback.pack("BANANA"), Feedback.pack("BANANA"), 6), Feedback.allCorrect(6));
+        assertThrows(IllegalArgumentException.class, () -> new Model(new String[] { "-l", "7" }));
+        assertThrows(IllegalArgumentException.class, () -> new Model(new String[] { "-l" }));
+        assertThrows(IllegalArgumentException.class, () -> new MultiBoardModel(new String[] { "-b", "2", "-l", "4" }));
+    }
+
+    /**
+     * Ensures that keys other than letters, enter and backspace, such as
+     * shift or an accented letter, are not turned into entries.
+     */
+    @Test
+    public void testIgnoresKeysThatAreNotEntries() {
+        Component source = new Canvas();
+        assertEquals(Entry.fromKeyEvent(new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_SHIFT, KeyEvent.CHAR_UNDEFINED)), null);
+        assertEquals(Entry.fromKeyEvent(new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_UNDEFINED, '\u00e9')), null);
+        assertEquals(Entry.fromKeyEvent(new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_Q, 'q')), Entry.Q);
+        assertEquals(Entry.fromKeyEvent(new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_ENTER, '\n')), Entry.ENTER);
+    }
+
+    /**
+     * Ensures that five-letter words written by Ingest are allowed guesses
+     * everywhere: in validation, in search and in the guess list the hints
+     * are ranked over.
+     * @throws IOException
+     */
+    @Test
+    public void testIngestedWordsAreAllowedGuesses() throws IOException {
+        Path directory = Files.createTempDirectory("wordle");
+        Path file = directory.resolve(Dictionary.ingestedFilename(5));
+
+        try {
+            int listedCount = WordRepository.withIngestedDirectory(5, directory).getPackedGuessWords().length;
+
+            try (Dictionary.Writer writer = new Dictionary.Writer(file, 5, 0)) {
+                writer.add(Dictionary.pack("AUDIO")); // already in common.txt
+                writer.add(Dictionary.pack("QQQQQ"));
+                writer.commit();
+            }
+
+            WordRepository repository = WordRepository.withIngestedDirectory(5, directory);
+            int[] guessWords = repository.getPackedGuessWords();
+            assertEquals(guessWords.length, listedCount + 1);
+            assertEquals(repository.guessIndexOf(Feedback.pack("QQQQQ")), guessWords.length - 1);
+
+            Model model = new Model(new String[] { "-v" }, repository);
+            assertTrue(model.isValidGuess("QQQQQ"));
+            assertEquals(model.searchWords("QQ?QQ").count(), 1);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+}
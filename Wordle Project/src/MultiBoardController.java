@@ -0,0 +1,170 @@
+import java.awt.EventQueue;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.*;
+
+/**
+ * The Controller in the GUI version of a game on several boards. Playing a
+ * guess is cheap enough to run on the event dispatch thread, so the model is
+ * owned by that thread; only ranking hints, which scores every allowed guess
+ * against every board, runs in the background on a copy of the candidates.
+ */
+public class MultiBoardController {
+    private static final System.Logger LOGGER = System.getLogger("wordle");
+
+    private MultiBoardModel model;
+    private MultiBoardView view;
+    private String guessInProgress = "";
+    private int hintRequest = 0; // discards hints for a position that has since changed
+
+    public JFrame getView() {
+        return view;
+    }
+
+    public MultiBoardController(MultiBoardModel model) {
+        this.model = model;
+        this.view = new MultiBoardView(model.getBoardCount(), model.getGuessesAllowed(),
+                this::startNewGame, this::hintRequested, this::entryReceived);
+
+        showNewGame();
+    }
+
+    private void startNewGame() {
+        model.reset();
+        showNewGame();
+    }
+
+    private void showNewGame() {
+        guessInProgress = "";
+        hintRequest++;
+        view.clear();
+        view.setHintEnabled(true);
+        showStatus();
+
+        if (model.shouldShowWord()) {
+            for (int b = 0; b < model.getBoardCount(); b++) {
+                LOGGER.log(System.Logger.Level.INFO, "Board {0} target word = {1}", b + 1, model.getTargetWord(b));
+            }
+        }
+    }
+
+    private void hintRequested() {
+        if (model.isGameFinished()) {
+            return;
+        }
+
+        int request = ++hintRequest;
+        int[][] candidateSets = model.remainingCandidateSets();
+        view.showHint(List.of("..."));
+
+        CompletableFuture.supplyAsync(() -> model.suggestGuesses(candidateSets, 3))
+                .thenAccept(suggestions -> EventQueue.invokeLater(() -> {
+                    if (request == hintRequest) {
+                        view.showHint(suggestions);
+                    }
+                }));
+    }
+
+    private void entryReceived(Entry entry) {
+        assert entry != null : "Entry must be non-null";
+
+        if (model.isGameFinished()) {
+            return;
+        }
+
+        int row = model.getGuessCount();
+
+        if (entry == Entry.BACKSPACE && !guessInProgress.isEmpty()) {
+            guessInProgress = guessInProgress.substring(0, guessInProgress.length() - 1);
+            for (int b = 0; b < model.getBoardCount(); b++) {
+                if (!model.isSolved(b)) {
+                    view.clearCell(b, row, guessInProgress.length());
+                }
+            }
+        }
+        else if (entry == Entry.ENTER && guessInProgress.length() == Feedback.WORD_LENGTH) {
+            view.showWarning(null);
+
+            if (model.shouldValidateWord() && !model.isValidGuess(guessInProgress)) {
+                view.showWarning("Word not in word list.");
+                return;
+            }
+
+            makeGuess(row);
+        }
+        else if (entry != Entry.ENTER && entry != Entry.BACKSPACE && guessInProgress.length() < Feedback.WORD_LENGTH) {
+            for (int b = 0; b < model.getBoardCount(); b++) {
+                if (!model.isSolved(b)) {
+                    view.setCell(b, row, guessInProgress.length(), entry.name().charAt(0), null);
+                }
+            }
+            guessInProgress += entry.name();
+        }
+    }
+
+    private void makeGuess(int row) {
+        model.makeGuess(guessInProgress);
+        guessInProgress = "";
+        hintRequest++;
+        view.showHint(null);
+
+        for (int b = 0; b < model.getBoardCount(); b++) {
+            List<GuessItem> items = model.getBoardRow(b, row);
+            if (items == null) {
+                continue;
+            }
+
+            for (int i = 0; i < items.size(); i++) {
+                view.setCell(b, row, i, items.get(i).value, items.get(i).status);
+            }
+
+            if (model.isSolved(b)) {
+                view.showBoardStatus(b, "solved on guess " + (row + 1));
+            } else {
+                view.showBoardStatus(b, model.remainingCount(b) + " words left");
+            }
+        }
+
+        showKeyboard();
+        showStatus();
+        view.setHintEnabled(!model.isGameFinished());
+    }
+
+    /**
+     * Colours the keyboard from every guess on the boards still being
+     * played, so a letter only stays coloured while it matters to some
+     * board. Once every board is solved, all of them are shown.
+     */
+    private void showKeyboard() {
+        view.clearKeyboard();
+
+        for (int b = 0; b < model.getBoardCount(); b++) {
+            if (model.isSolved(b) && !model.isGameWon()) {
+                continue;
+            }
+
+            for (int row = 0; row < model.getGuessCount(); row++) {
+                int code = model.getCode(b, row);
+                if (code >= 0) {
+                    view.colorKeys(model.getPackedGuess(row), code);
+                }
+            }
+        }
+    }
+
+    private void showStatus() {
+        if (model.isGameWon()) {
+            view.showStatus("You solved every board in " + model.getGuessCount() + " guesses");
+        } else if (model.isGameFinished()) {
+            view.showStatus("Out of guesses");
+            for (int b = 0; b < model.getBoardCount(); b++) {
+                if (!model.isSolved(b)) {
+                    view.showBoardStatus(b, model.getTargetWord(b));
+                }
+            }
+        } else {
+            view.showStatus(model.getSolvedCount() + " of " + model.getBoardCount() + " boards solved, "
+                    + model.getRemainingGuesses() + " guesses left");
+        }
+    }
+}
@@ -0,0 +1,340 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Contains the logic for a game played on several boards at once, in the
+ * style of Quordle: every board has its own target word, each guess is
+ * played on every board that has not been solved yet, and the game is won
+ * once every board has been solved. A game on N boards allows N + 5 guesses.
+ *
+ * Each guess is scored against all of the unsolved targets in one call to
+ * {@link Feedback#scoreAll}, and every board keeps its own candidate set so
+ * that hints can be ranked over all of the boards together.
+ */
+public class MultiBoardModel {
+    public static final int MAX_BOARDS = 32;
+    private static final int EXTRA_GUESSES = 5;
+
+    private final WordRepository repository = WordRepository.shared();
+    private final int[] targetWords; // packed
+    private final int boardCount;
+    private final int guessesAllowed;
+    private final int[] packedTargets;
+    private final CandidateSet[] candidates;
+    private final int[] solvedAt; // the row each board was solved on, or -1
+    private final int[] packedGuesses;
+    private final int[][] codes; // [board][row]
+    private Dictionary validWords;
+    private int guessCount = 0;
+    private int solvedCount = 0;
+
+    // Scratch space for scoring a guess against the unsolved boards
+    private final int[] unsolvedBoards;
+    private final int[] unsolvedTargets;
+    private final int[] unsolvedCodes;
+
+    private boolean flag_randomise;
+    private boolean flag_showWord;
+    private boolean flag_validateWord;
+
+    // -b [--boards] N -r [--random] -s [--show] -v [--validate]
+    public MultiBoardModel(String[] commandLineArgs) throws IOException {
+        List<String> args = Arrays.asList(commandLineArgs);
+        this.flag_randomise = args.contains("-r");
+        this.flag_showWord = args.contains("-s");
+        this.flag_validateWord = args.contains("-v");
+        this.boardCount = boardCount(commandLineArgs);
+        if (Model.wordLength(commandLineArgs) != Feedback.WORD_LENGTH) {
+            throw new IllegalArgumentException("Games on several boards are only played with five-letter words");
+        }
+        this.guessesAllowed = boardCount + EXTRA_GUESSES;
+
+        targetWords = repository.getPackedTargetWords();
+        packedTargets = new int[boardCount];
+        candidates = new CandidateSet[boardCount];
+        for (int b = 0; b < boardCount; b++) {
+            candidates[b] = repository.getCandidateIndex().newCandidateSet();
+        }
+        solvedAt = new int[boardCount];
+        packedGuesses = new int[guessesAllowed];
+        codes = new int[boardCount][guessesAllowed];
+        unsolvedBoards = new int[boardCount];
+        unsolvedTargets = new int[boardCount];
+        unsolvedCodes = new int[boardCount];
+
+        if (this.flag_validateWord) {
+            validWords = repository.getValidWords();
+        }
+
+        reset();
+    }
+
+    /**
+     * Returns the number of boards asked for by the -b flag, or 1 if the flag
+     * is not given.
+     */
+    public static int boardCount(String[] commandLineArgs) {
+        List<String> args = Arrays.asList(commandLineArgs);
+        int index = args.indexOf("-b");
+        if (index < 0) {
+            return 1;
+        }
+
+        int count;
+        try {
+            count = Integer.parseInt(args.get(index + 1));
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("-b must be followed by the number of boards");
+        }
+
+        if (count < 1 || count > MAX_BOARDS) {
+            throw new IllegalArgumentException("The number of boards must be between 1 and " + MAX_BOARDS);
+        }
+
+        return count;
+    }
+
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    public int getGuessesAllowed() {
+        return guessesAllowed;
+    }
+
+    public int getRemainingGuesses() {
+        return guessesAllowed - guessCount;
+    }
+
+    public int getGuessCount() {
+        return guessCount;
+    }
+
+    public boolean shouldShowWord() {
+        return flag_showWord;
+    }
+
+    public boolean shouldValidateWord() {
+        return flag_validateWord;
+    }
+
+    public String getTargetWord(int board) {
+        return Feedback.unpack(packedTargets[board]);
+    }
+
+    public boolean isSolved(int board) {
+        return solvedAt[board] >= 0;
+    }
+
+    /**
+     * Returns the row the board was solved on, or -1 if it is unsolved.
+     */
+    public int getSolvedAt(int board) {
+        return solvedAt[board];
+    }
+
+    public int getSolvedCount() {
+        return solvedCount;
+    }
+
+    public boolean isGameWon() {
+        return solvedCount == boardCount;
+    }
+
+    public boolean isGameFinished() {
+        return isGameWon() || guessCount == guessesAllowed;
+    }
+
+    /**
+     * Returns the guess on the given row of a board with the status of each
+     * letter, or null if the row was not played on that board.
+     */
+    public List<GuessItem> getBoardRow(int board, int row) {
+        if (row >= guessCount || (isSolved(board) && row > solvedAt[board])) {
+            return null;
+        }
+
+        return GuessItem.unpack(packedGuesses[row], codes[board][row]);
+    }
+
+    /**
+     * Returns the packed guess (see {@link Feedback}) played on the given row.
+     */
+    public int getPackedGuess(int row) {
+        assert row < guessCount : "Row " + row + " has not been played";
+
+        return packedGuesses[row];
+    }
+
+    /**
+     * Returns the feedback code (see {@link Feedback}) of the given row of a
+     * board, or -1 if the row was not played on that board.
+     */
+    public int getCode(int board, int row) {
+        if (row >= guessCount || (isSolved(board) && row > solvedAt[board])) {
+            return -1;
+        }
+
+        return codes[board][row];
+    }
+
+    /**
+     * Returns how many target words are still consistent with the guesses
+     * made so far on a board.
+     */
+    public int remainingCount(int board) {
+        return candidates[board].remainingCount();
+    }
+
+    /**
+     * Starts a new game, with distinct random targets if the game is
+     * randomised and evenly spaced targets from the word list otherwise.
+     */
+    public void reset() {
+        if (flag_randomise) {
+            Random random = new Random();
+            for (int b = 0; b < boardCount; b++) {
+                int target;
+                do {
+                    target = targetWords[random.nextInt(targetWords.length)];
+                } while (indexOf(packedTargets, b, target) >= 0);
+                packedTargets[b] = target;
+            }
+        } else {
+            for (int b = 0; b < boardCount; b++) {
+                packedTargets[b] = targetWords[(int)((long)b * targetWords.length / boardCount)];
+            }
+        }
+
+        clearGame();
+    }
+
+    /**
+     * Starts a new game with the given target words, one per board.
+     */
+    public void reset(String... targets) {
+        assert targets.length == boardCount : "There must be one target word per board";
+
+        for (int b = 0; b < boardCount; b++) {
+            packedTargets[b] = Feedback.pack(targets[b]);
+        }
+
+        clearGame();
+    }
+
+    public boolean isValidGuess(String guess) {
+        assert guess != null : "Guess must be non-null";
+        assert guess.trim().length() == Feedback.WORD_LENGTH : "Guess must be of length " + Feedback.WORD_LENGTH;
+        assert guess.trim().matches("[a-zA-Z]+") : "Guess must only contain alphabetic characters";
+
+        return validWords != null && validWords.contains(guess);
+    }
+
+    /**
+     * Plays a guess on every unsolved board.
+     */
+    public void makeGuess(String guess) {
+        assert guess != null : "Guess must be non-null";
+        assert guess.trim().length() == Feedback.WORD_LENGTH : "Guess must be of length " + Feedback.WORD_LENGTH;
+        assert guess.trim().matches("[a-zA-Z]+") : "Guess must only contain alphabetic characters";
+        assert !isGameFinished() : "The game is already finished";
+
+        int packedGuess = Feedback.pack(guess);
+        int row = guessCount++;
+        packedGuesses[row] = packedGuess;
+
+        int unsolved = 0;
+        for (int b = 0; b < boardCount; b++) {
+            if (!isSolved(b)) {
+                unsolvedBoards[unsolved] = b;
+                unsolvedTargets[unsolved] = packedTargets[b];
+                unsolved++;
+            }
+        }
+
+        Feedback.scoreAll(packedGuess, unsolvedTargets, unsolved, unsolvedCodes);
+
+        for (int i = 0; i < unsolved; i++) {
+            int board = unsolvedBoards[i];
+            codes[board][row] = unsolvedCodes[i];
+            candidates[board].narrow(packedGuess, unsolvedCodes[i]);
+
+            if (unsolvedCodes[i] == Feedback.ALL_CORRECT) {
+                solvedAt[board] = row;
+                solvedCount++;
+            }
+        }
+    }
+
+    /**
+     * Returns the candidates (as indices into common.txt) still possible on
+     * each unsolved board. The arrays are copies, so the result may be
+     * handed to another thread.
+     */
+    public int[][] remainingCandidateSets() {
+        int[][] sets = new int[boardCount - solvedCount][];
+        int i = 0;
+        for (int b = 0; b < boardCount; b++) {
+            if (!isSolved(b)) {
+                sets[i++] = candidates[b].remainingCandidates();
+            }
+        }
+
+        return sets;
+    }
+
+    /**
+     * Returns up to k suggested guesses, best first, ranked by the total
+     * information they are expected to give over all of the unsolved boards.
+     */
+    public List<String> suggestGuesses(int k) {
+        return suggestGuesses(remainingCandidateSets(), k);
+    }
+
+    /**
+     * Ranks guesses for candidate sets taken earlier from
+     * remainingCandidateSets. This only reads the shared word lists, so it may
+     * be called from any thread.
+     */
+    public List<String> suggestGuesses(int[][] candidateSets, int k) {
+        if (candidateSets.length == 0) {
+            return List.of();
+        }
+
+        Solver solver;
+        int[] guessWords;
+        try {
+            solver = repository.getSolver();
+            guessWords = repository.getPackedGuessWords();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<String> suggestions = new ArrayList<>();
+        for (int index: solver.rank(candidateSets, k)) {
+            suggestions.add(Feedback.unpack(guessWords[index]));
+        }
+
+        return suggestions;
+    }
+
+    private void clearGame() {
+        Arrays.fill(solvedAt, -1);
+        for (CandidateSet set: candidates) {
+            set.reset();
+        }
+        guessCount = 0;
+        solvedCount = 0;
+    }
+
+    private static int indexOf(int[] array, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,148 @@
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.swing.*;
+
+/**
+ * The main view of the GUI version of a game on several boards. The boards
+ * are laid out four to a row in a scrolling panel above the keyboard. All of
+ * the methods must be called on the event dispatch thread.
+ */
+public class MultiBoardView extends JFrame {
+    public static final int WIDTH = 700;
+    public static final int HEIGHT = 800;
+    private static final int BOARDS_PER_ROW = 4;
+    private static final int CELL_SIZE = 24;
+
+    private List<GridView> grids = new ArrayList<>();
+    private List<JLabel> boardLabels = new ArrayList<>();
+    private JButton newGameButton = new JButton("New Game");
+    private JButton hintButton = new JButton("Hint");
+    private JLabel hintLabel = new JLabel("");
+    private JLabel statusLabel = new JLabel("");
+    private JLabel warningLabel = new JLabel("");
+    private KeyboardView keyboard;
+
+    public MultiBoardView(int boardCount, int rows, Runnable onNewGameClicked, Runnable onHintClicked, Consumer<Entry> onEntryChosen) {
+        setTitle("WORDLE x " + boardCount);
+        setSize(WIDTH, HEIGHT);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(EXIT_ON_CLOSE);
+
+        getContentPane().setLayout(new BoxLayout(getContentPane(), BoxLayout.PAGE_AXIS));
+
+        newGameButton.addActionListener((e) -> {
+            requestFocusInWindow();
+            onNewGameClicked.run();
+        });
+        hintButton.addActionListener((e) -> {
+            requestFocusInWindow();
+            onHintClicked.run();
+        });
+
+        JPanel buttons = new JPanel();
+        buttons.setLayout(new BoxLayout(buttons, BoxLayout.LINE_AXIS));
+        buttons.add(newGameButton);
+        buttons.add(hintButton);
+        buttons.setAlignmentX(Component.CENTER_ALIGNMENT);
+        buttons.setMaximumSize(buttons.getPreferredSize());
+        add(buttons);
+
+        for (JLabel label: List.of(hintLabel, statusLabel, warningLabel)) {
+            label.setAlignmentX(Component.CENTER_ALIGNMENT);
+            add(label);
+        }
+        warningLabel.setForeground(Color.red);
+
+        JPanel boards = new JPanel(new GridLayout(0, Math.min(boardCount, BOARDS_PER_ROW), 10, 10));
+        for (int b = 0; b < boardCount; b++) {
+            GridView grid = new GridView(rows, CELL_SIZE * 2 / 3);
+            grid.setPreferredSize(new Dimension(CELL_SIZE * Feedback.WORD_LENGTH, CELL_SIZE * rows));
+            grids.add(grid);
+
+            JLabel label = new JLabel("Board " + (b + 1), SwingConstants.CENTER);
+            boardLabels.add(label);
+
+            JPanel board = new JPanel(new BorderLayout());
+            board.add(label, BorderLayout.NORTH);
+            board.add(grid, BorderLayout.CENTER);
+            boards.add(board);
+        }
+
+        JScrollPane scrollPane = new JScrollPane(boards);
+        scrollPane.setFocusable(false);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(CELL_SIZE);
+        add(scrollPane);
+
+        keyboard = new KeyboardView((e) -> {
+            requestFocusInWindow(); // Take focus back from any button or field so keyboard entry reaches the window.
+            onEntryChosen.accept(e);
+        });
+        add(keyboard);
+
+        setFocusable(true);
+        requestFocusInWindow();
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent keyEvent) {
+                Entry entry = Entry.fromKeyEvent(keyEvent);
+                if (entry != null) {
+                    onEntryChosen.accept(entry);
+                }
+            }
+        });
+    }
+
+    public void setCell(int board, int row, int column, char value, GuessStatus status) {
+        grids.get(board).setCell(row, column, value, status);
+    }
+
+    public void clearCell(int board, int row, int column) {
+        grids.get(board).clearCell(row, column);
+    }
+
+    /**
+     * Colours the keys for the letters of a guess scored on one board. A key
+     * keeps the best status it is given until the keyboard is cleared.
+     */
+    public void colorKeys(int packedGuess, int code) {
+        keyboard.record(packedGuess, code);
+    }
+
+    public void clearKeyboard() {
+        keyboard.clear();
+    }
+
+    public void showBoardStatus(int board, String status) {
+        boardLabels.get(board).setText("Board " + (board + 1) + (status == null ? "" : " - " + status));
+    }
+
+    public void clear() {
+        for (int b = 0; b < grids.size(); b++) {
+            grids.get(b).clear();
+            showBoardStatus(b, null);
+        }
+        clearKeyboard();
+        showHint(null);
+        showWarning(null);
+    }
+
+    public void showStatus(String status) {
+        statusLabel.setText(status);
+    }
+
+    public void showWarning(String warning) {
+        warningLabel.setText(warning == null ? "" : warning);
+    }
+
+    public void showHint(List<String> suggestions) {
+        hintLabel.setText(suggestions == null ? "" : "Try: " + String.join(", ", suggestions));
+    }
+
+    public void setHintEnabled(boolean isEnabled) {
+        hintButton.setEnabled(isEnabled);
+    }
+}
@@ -0,0 +1,130 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The entry point to the replay benchmark. Plays an input trace recorded by
+ * the GUI (see {@link InputTrace}) back through a {@link Controller} and
+ * {@link Model} as fast as possible, with a view that draws nothing, so no
+ * display is needed. Each input is sent as the window would send it, and
+ * timed until the game loop has applied it and published the new state.
+ *
+ * The recorded delays are ignored, and the games are played with the given
+ * flags rather than the recorded targets, so a game may finish earlier or
+ * later than it did; inputs sent to a finished game are still timed. An
+ * input the game loop has not applied within ten seconds, or a game loop
+ * that has died, fails the replay.
+ */
+public class Replay {
+    private static final String[] DEFAULT_FLAGS = { "-v" };
+    private static final long INPUT_TIMEOUT_NANOS = 10_000_000_000L;
+
+    // Replay [trace file] [times] [game flags...]
+    public static void main(String[] args) {
+        Path file = args.length > 0 ? Paths.get(args[0]) : WordRepository.cacheFile(InputTrace.FILENAME);
+        int times = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String[] flags = args.length > 2 ? Arrays.copyOfRange(args, 2, args.length) : DEFAULT_FLAGS;
+
+        Metrics.enable(false);
+
+        try {
+            Replay replay = new Replay(new Model(flags));
+            long start = System.nanoTime();
+            int inputCount = replay.run(file, times);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Inputs:    %d (%.0f inputs/s)%n", inputCount, inputCount / seconds);
+            System.out.printf("Events:    %d%n", replay.eventCount);
+            System.out.println();
+            System.out.print(Metrics.summary(List.of(replay.keystrokes, replay.guesses, replay.newGames)));
+            System.out.println();
+            System.out.print(Metrics.summary());
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private final Metric keystrokes = new Metric("input.keystroke");
+    private final Metric guesses = new Metric("input.enter");
+    private final Metric newGames = new Metric("input.newGame");
+    private final Controller controller;
+    private Runnable onNewGameClicked;
+    private Consumer<Entry> onEntryChosen;
+    private long eventCount = 0;
+
+    public Replay(Model model) {
+        this.controller = new Controller(model, (wordLength, onNewGameClicked, onHintClicked, onEntryChosen, onSearch) -> {
+            this.onNewGameClicked = onNewGameClicked;
+            this.onEntryChosen = onEntryChosen;
+            return new HeadlessView();
+        });
+    }
+
+    /**
+     * Plays the trace the given number of times and returns how many inputs
+     * were sent. Latencies are only recorded while metrics are enabled.
+     */
+    public int run(Path file, int times) throws IOException {
+        List<Entry> inputs = new ArrayList<>(); // null for a new game
+        InputTrace.forEach(file, (entry, timeMillis) -> inputs.add(entry));
+
+        for (int t = 0; t < times; t++) {
+            for (Entry entry: inputs) {
+                GameState before = controller.getState();
+                long start = Metrics.start();
+                long deadline = System.nanoTime() + INPUT_TIMEOUT_NANOS;
+
+                if (entry == null) {
+                    onNewGameClicked.run();
+                } else {
+                    onEntryChosen.accept(entry);
+                }
+
+                // Every input is one command on the loop, which publishes a new state when it is done
+                while (controller.getState() == before) {
+                    if (!controller.isLoopAlive() || System.nanoTime() - deadline > 0) {
+                        throw new IllegalStateException("The game loop stopped applying inputs");
+                    }
+                    Thread.yield();
+                }
+
+                (entry == null ? newGames : entry == Entry.ENTER ? guesses : keystrokes).record(start);
+            }
+        }
+
+        return inputs.size() * times;
+    }
+
+    public GameState getState() {
+        return controller.getState();
+    }
+
+    /**
+     * A view that only counts the events it is sent.
+     */
+    private final class HeadlessView implements GameView {
+        @Override
+        public void gameChanged(GameEvent event) {
+            eventCount++;
+        }
+
+        public void showWordsLeft(int count) {
+        }
+
+        public void showWarning(String warning) {
+        }
+
+        public void showHint(List<String> suggestions) {
+        }
+
+        public void showSearchResults(SearchResults results) {
+        }
+
+        public void showSearchError(String error) {
+        }
+    }
+}
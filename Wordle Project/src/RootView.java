@@ -3,167 +3,364 @@ import java.awt.event.ActionEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import javax.swing.*;
 
 /**
- * A view containing one horizontal row of the keyboard.
+ * The virtual keyboard, drawn as one component. Each key is a rectangle
+ * painted with a cached font, and when a key changes colour only that key
+ * is repainted.
  */
-class KeyboardRowView extends JPanel {
-    Map<Character, JButton> buttons = new HashMap<>();
-
-    public KeyboardRowView(char[] chars, boolean hasAux, Consumer<Entry> onClicked) {
-        setLayout(new BoxLayout(this, BoxLayout.LINE_AXIS));
-
-        if (hasAux) {
-            JButton button = new JButton("Enter");
-            button.setBackground(Color.DARK_GRAY);
-            button.setForeground(Color.WHITE);
-            button.setMinimumSize(new Dimension(70, 80));
-            button.setMaximumSize(new Dimension(70, 80));
-            button.addActionListener(e -> onClicked.accept(Entry.ENTER));
-            add(button);
-        }
+class KeyboardView extends JComponent {
+    private static final String[] ROWS = { "QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM" };
+    private static final int KEY_WIDTH = 44;
+    private static final int WIDE_KEY_WIDTH = 68;
+    private static final int KEY_HEIGHT = 58;
+    private static final int GAP = 5;
+    private static final Font FONT = new Font("Helvetica", Font.BOLD, 14);
+
+    private final List<Entry> entries = new ArrayList<>(); // one per key, in painting order
+    private final List<Rectangle> keyBounds = new ArrayList<>(); // relative to a keyboard at the left edge
+    private final GuessStatus[] statuses = new GuessStatus[26];
+    private final int keyboardWidth;
 
-        for (char c: chars) {
-            JButton button = new JButton("" + c);
-            button.setBackground(Color.DARK_GRAY);
-            button.setForeground(Color.WHITE);
-            button.setMinimumSize(new Dimension(50, 80));
-            button.setMaximumSize(new Dimension(50, 80));
-            button.addActionListener(e -> onClicked.accept(Entry.fromCharacter(c)));
-            buttons.put(c, button);
-            add(button);
+    public KeyboardView(Consumer<Entry> onKeyClicked) {
+        List<List<Entry>> rows = new ArrayList<>();
+        for (int row = 0; row < ROWS.length; row++) {
+            List<Entry> rowEntries = new ArrayList<>();
+            for (char c: ROWS[row].toCharArray()) {
+                rowEntries.add(Entry.fromCharacter(c));
+            }
+            rows.add(rowEntries);
         }
+        rows.get(ROWS.length - 1).add(0, Entry.ENTER);
+        rows.get(ROWS.length - 1).add(Entry.BACKSPACE);
 
-        if (hasAux) {
-            JButton button = new JButton("<=");
-            button.setBackground(Color.DARK_GRAY);
-            button.setForeground(Color.WHITE);
-            button.setMinimumSize(new Dimension(50, 80));
-            button.setMaximumSize(new Dimension(50, 80));
-            button.addActionListener(e -> onClicked.accept(Entry.BACKSPACE));
-            add(button);
+        int width = 0;
+        for (List<Entry> rowEntries: rows) {
+            width = Math.max(width, rowWidth(rowEntries));
         }
+        keyboardWidth = width;
+
+        // Each row is centred under the widest
+        for (int row = 0; row < rows.size(); row++) {
+            int x = (keyboardWidth - rowWidth(rows.get(row))) / 2;
+            for (Entry entry: rows.get(row)) {
+                entries.add(entry);
+                keyBounds.add(new Rectangle(x, row * (KEY_HEIGHT + GAP), keyWidth(entry), KEY_HEIGHT));
+                x += keyWidth(entry) + GAP;
+            }
+        }
+
+        Dimension size = new Dimension(keyboardWidth, ROWS.length * (KEY_HEIGHT + GAP) - GAP);
+        setPreferredSize(size);
+        setMinimumSize(size);
+        setMaximumSize(size);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                for (int i = 0; i < entries.size(); i++) {
+                    if (bounds(i).contains(e.getPoint())) {
+                        onKeyClicked.accept(entries.get(i));
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Colours the keys for the letters of a scored five-letter guess, keeping
+     * the best status each key has been given.
+     */
+    public void record(int packedGuess, int code) {
+        record(packedGuess, code, Feedback.WORD_LENGTH);
     }
 
-    public void update(Map<Character, GuessStatus> characterStatuses) {
-        for (char character: buttons.keySet()) {
-            GuessStatus status = characterStatuses.get(character);
-            JButton button = buttons.get(character);
-            button.setBackground(RootView.colorForStatus(status));
-            button.setForeground(RootView.textColorForStatus(status));
+    /**
+     * Colours the keys for the letters of a scored guess of the given length.
+     */
+    public void record(int packedGuess, int code, int length) {
+        for (int i = 0; i < length; i++) {
+            int letter = Feedback.letterIndexAt(packedGuess, i);
+            GuessStatus status = Feedback.statusAt(code, i);
+
+            if (statuses[letter] == null || status.compareTo(statuses[letter]) < 0) {
+                statuses[letter] = status;
+                repaintLetter(letter);
+            }
         }
     }
-}
 
-/**
- * A view containing the virtual keyboard.
- */
-class KeyboardView extends JPanel {
-    List<KeyboardRowView> rows = new ArrayList<>();
+    public void clear() {
+        for (int letter = 0; letter < statuses.length; letter++) {
+            if (statuses[letter] != null) {
+                statuses[letter] = null;
+                repaintLetter(letter);
+            }
+        }
+    }
 
-    public KeyboardView(Consumer<Entry> onKeyClicked) {
-        setLayout(new BoxLayout(this, BoxLayout.PAGE_AXIS));
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D)g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setFont(FONT);
+        FontMetrics metrics = g2.getFontMetrics();
+        Rectangle clip = g2.getClipBounds();
+
+        for (int i = 0; i < entries.size(); i++) {
+            Rectangle bounds = bounds(i);
+            if (clip != null && !clip.intersects(bounds)) {
+                continue;
+            }
 
-        rows.add(new KeyboardRowView("QWERTYUIOP".toCharArray(), false, onKeyClicked));
-        rows.add(new KeyboardRowView("ASDFGHJKL".toCharArray(), false, onKeyClicked));
-        rows.add(new KeyboardRowView("ZXCVBNM".toCharArray(), true, onKeyClicked));
+            Entry entry = entries.get(i);
+            GuessStatus status = entry.ordinal() < 26 ? statuses[entry.ordinal()] : null;
+            String text = entry == Entry.ENTER ? "Enter" : entry == Entry.BACKSPACE ? "<=" : entry.name();
 
-        for (KeyboardRowView row: rows) {
-            add(row);
+            g2.setColor(status == null ? Color.DARK_GRAY : RootView.colorForStatus(status));
+            g2.fillRoundRect(bounds.x, bounds.y, bounds.width, bounds.height, 6, 6);
+            g2.setColor(status == null ? Color.WHITE : RootView.textColorForStatus(status));
+            g2.drawString(text, bounds.x + (bounds.width - metrics.stringWidth(text)) / 2,
+                    bounds.y + (bounds.height - metrics.getHeight()) / 2 + metrics.getAscent());
         }
     }
 
-    public void update(Map<Character, GuessStatus> characterStatuses) {
-        for (KeyboardRowView row: rows) {
-            row.update(characterStatuses);
+    private void repaintLetter(int letter) {
+        int i = entries.indexOf(Entry.values()[letter]);
+        Rectangle bounds = bounds(i);
+        repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+
+    /**
+     * Returns the bounds of a key, with the keyboard centred in the component.
+     */
+    private Rectangle bounds(int i) {
+        Rectangle bounds = new Rectangle(keyBounds.get(i));
+        bounds.x += Math.max(0, (getWidth() - keyboardWidth) / 2);
+        return bounds;
+    }
+
+    private static int keyWidth(Entry entry) {
+        return entry == Entry.ENTER || entry == Entry.BACKSPACE ? WIDE_KEY_WIDTH : KEY_WIDTH;
+    }
+
+    private static int rowWidth(List<Entry> rowEntries) {
+        int width = -GAP;
+        for (Entry entry: rowEntries) {
+            width += keyWidth(entry) + GAP;
         }
+
+        return width;
     }
 }
 
 /**
- * A view containing the 5x6 grid of letters displaying previous
- * and current guesses.
+ * A view containing the grid of letters displaying previous and current
+ * guesses, by default five letters wide and six rows high. The grid is one
+ * component however large it is: cells are painted directly with a font
+ * shared by every grid of the same size, and changing a cell repaints only
+ * that cell.
  */
-class GridView extends JPanel {
-    List<JLabel> labels = new ArrayList<>();
+class GridView extends JComponent {
+    private static final int DEFAULT_ROWS = 6;
+    private static final int DEFAULT_FONT_SIZE = 20;
+    private static final Map<Integer, Font> FONTS = new HashMap<>(); // by size, used on the event dispatch thread
+    private static final Stroke HIGHLIGHT_STROKE = new BasicStroke(3);
+
+    private final int columns;
+    private final int rows;
+    private final int gap;
+    private final Font font;
+    private final char[] letters;
+    private final GuessStatus[] statuses;
+    private final boolean[] isRowHighlighted;
 
     public GridView() {
-        setLayout(new GridLayout(0, 5, 5, 5));
-
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-        makeLabel();
-    }
-
-    public void update(List<List<GuessItem>> guesses, String guessInProgress) {
-        for (JLabel label: labels) {
-            label.setText("-");
-            label.setBackground(RootView.colorForStatus(null));
-            label.setForeground(RootView.textColorForStatus(null));
+        this(Feedback.WORD_LENGTH);
+    }
+
+    /**
+     * Creates a grid of the default size for words of the given length.
+     */
+    public GridView(int columns) {
+        this(columns, DEFAULT_ROWS, DEFAULT_FONT_SIZE);
+    }
+
+    public GridView(int rows, int fontSize) {
+        this(Feedback.WORD_LENGTH, rows, fontSize);
+    }
+
+    public GridView(int columns, int rows, int fontSize) {
+        this.columns = columns;
+        this.rows = rows;
+        this.gap = fontSize / 4;
+        this.font = FONTS.computeIfAbsent(fontSize, size -> new Font("Helvetica", Font.BOLD, size));
+        this.letters = new char[columns * rows];
+        this.statuses = new GuessStatus[columns * rows];
+        this.isRowHighlighted = new boolean[rows];
+
+        Arrays.fill(letters, '-');
+        setPreferredSize(new Dimension(columns * fontSize * 3, rows * fontSize * 3));
+    }
+
+    public void setCell(int row, int column, char value, GuessStatus status) {
+        int i = row * columns + column;
+        if (letters[i] != value || statuses[i] != status) {
+            letters[i] = value;
+            statuses[i] = status;
+            repaintCell(row, column);
         }
+    }
 
-        int i = 0;
-        for (List<GuessItem> guess: guesses) {
-            for (GuessItem item: guess) {
-                labels.get(i).setText(String.valueOf(item.value));
-                labels.get(i).setBackground(RootView.colorForStatus(item.status));
-                labels.get(i).setForeground(RootView.textColorForStatus(item.status));
-                i++;
+    public void clearCell(int row, int column) {
+        setCell(row, column, '-', null);
+    }
+
+    /**
+     * Outlines a row in red, or removes the outline.
+     */
+    public void setRowHighlighted(int row, boolean isHighlighted) {
+        if (isRowHighlighted[row] != isHighlighted) {
+            isRowHighlighted[row] = isHighlighted;
+            for (int column = 0; column < columns; column++) {
+                repaintCell(row, column);
             }
         }
+    }
 
-        for (char c: guessInProgress.toCharArray()) {
-            labels.get(i).setText(String.valueOf(c));
-            labels.get(i).setBackground(RootView.colorForStatus(null));
-            i++;
+    public void clear() {
+        for (int row = 0; row < rows; row++) {
+            setRowHighlighted(row, false);
+            for (int column = 0; column < columns; column++) {
+                clearCell(row, column);
+            }
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D)g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setFont(font);
+        FontMetrics metrics = g2.getFontMetrics();
+        Rectangle clip = g2.getClipBounds();
+        Rectangle cell = new Rectangle();
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                cellBounds(row, column, cell);
+                if (clip != null && !clip.intersects(cell)) {
+                    continue;
+                }
+
+                int i = row * columns + column;
+                g2.setColor(RootView.colorForStatus(statuses[i]));
+                g2.fillRect(cell.x, cell.y, cell.width, cell.height);
+
+                if (isRowHighlighted[row]) {
+                    g2.setColor(Color.red);
+                    g2.setStroke(HIGHLIGHT_STROKE);
+                    g2.drawRect(cell.x + 1, cell.y + 1, cell.width - 3, cell.height - 3);
+                }
+
+                String text = String.valueOf(letters[i]);
+                g2.setColor(RootView.textColorForStatus(statuses[i]));
+                g2.drawString(text, cell.x + (cell.width - metrics.stringWidth(text)) / 2,
+                        cell.y + (cell.height - metrics.getHeight()) / 2 + metrics.getAscent());
+            }
         }
     }
 
-    private void makeLabel() {
-        JLabel label = new JLabel("-", SwingConstants.CENTER);
-        label.setOpaque(true);
-        label.setBackground(RootView.colorForStatus(null));
-        label.setForeground(RootView.textColorForStatus(null));
-        label.setFont(new Font("Helvetica", Font.BOLD, 20));
-        add(label);
+    private void repaintCell(int row, int column) {
+        Rectangle cell = cellBounds(row, column, new Rectangle());
+        repaint(cell.x, cell.y, cell.width, cell.height);
+    }
+
+    /**
+     * Divides the component evenly between the cells, leaving a gap between
+     * neighbouring cells.
+     */
+    private Rectangle cellBounds(int row, int column, Rectangle cell) {
+        int cellWidth = (getWidth() - gap * (columns - 1)) / columns;
+        int cellHeight = (getHeight() - gap * (rows - 1)) / rows;
+        cell.setBounds(column * (cellWidth + gap), row * (cellHeight + gap), Math.max(cellWidth, 0), Math.max(cellHeight, 0));
+        return cell;
+    }
+}
+
+/**
+ * A helper panel for looking up words by pattern (see {@link WordQuery}).
+ * Pressing enter in the field sends the query, and the results are shown a
+ * page at a time.
+ */
+class SearchPanel extends JPanel {
+    private static final int PAGE_SIZE = 24;
+    private static final int WORDS_PER_LINE = 8;
+
+    private JTextField queryField = new JTextField(16);
+    private JLabel countLabel = new JLabel(" ");
+    private JTextArea resultsArea = new JTextArea(3, 8 * 6);
+    private JButton moreButton = new JButton("More");
+    private SearchResults results;
+    private int page;
+
+    public SearchPanel(Consumer<String> onSearch) {
+        setLayout(new BoxLayout(this, BoxLayout.PAGE_AXIS));
+
+        JPanel queryRow = new JPanel();
+        queryRow.setLayout(new BoxLayout(queryRow, BoxLayout.LINE_AXIS));
+        queryRow.add(new JLabel("Search: "));
+        queryField.setToolTipText("For example A?D?O +R -E 3!S");
+        queryField.addActionListener(e -> onSearch.accept(queryField.getText()));
+        queryRow.add(queryField);
+        queryRow.add(moreButton);
+        queryRow.setMaximumSize(queryRow.getPreferredSize());
+        add(queryRow);
+
+        countLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        add(countLabel);
+
+        resultsArea.setEditable(false);
+        resultsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        resultsArea.setMaximumSize(resultsArea.getPreferredSize());
+        add(resultsArea);
+
+        moreButton.setEnabled(false);
+        moreButton.addActionListener(e -> showPage(page + 1));
+    }
+
+    public void showResults(SearchResults results) {
+        this.results = results;
+        countLabel.setText(results.count() + " matching words");
+        showPage(0);
+    }
+
+    public void showError(String error) {
+        results = null;
+        countLabel.setText(error);
+        resultsArea.setText("");
+        moreButton.setEnabled(false);
+    }
 
-        labels.add(label);
+    private void showPage(int page) {
+        this.page = page;
+        List<String> words = results.page(page, PAGE_SIZE);
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words.size(); i++) {
+            text.append(words.get(i)).append(i % WORDS_PER_LINE == WORDS_PER_LINE - 1 ? "\n" : " ");
+        }
+        resultsArea.setText(text.toString().trim());
+        moreButton.setEnabled((page + 1) * PAGE_SIZE < results.count());
     }
 }
 
@@ -177,8 +374,10 @@ enum Entry {
     static Entry fromKeyEvent(KeyEvent e) {
         if (e.getKeyCode() == KeyEvent.VK_ENTER) return ENTER;
         if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE) return BACKSPACE;
-        if (Character.isAlphabetic(e.getKeyChar())) {
-            return fromCharacter(e.getKeyChar());
+        // Only A to Z are entries; other letters, such as accented ones, are ignored like any other key
+        char c = Character.toUpperCase(e.getKeyChar());
+        if (c >= 'A' && c <= 'Z') {
+            return fromCharacter(c);
         }
 
         return null;
@@ -191,15 +390,27 @@ enum Entry {
 
 /**
  * The main view that contains all the components of the GUI version of Wordle.
+ * Game events may arrive on any thread; they are queued and applied together
+ * on the event dispatch thread at most once per frame.
  */
-public class RootView extends JFrame implements Observer {
+public class RootView extends JFrame implements GameView {
     public static final int WIDTH = 500;
-    public static final int HEIGHT = 60 * 6 + 300;
+    public static final int HEIGHT = 60 * 6 + 400;
+    private static final int FRAME_MILLIS = 16;
+
+    private final Queue<GameEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isFrameScheduled = new AtomicBoolean(false);
+    private final javax.swing.Timer frameTimer = new javax.swing.Timer(FRAME_MILLIS, e -> applyPendingEvents());
 
-    private GridView grid = new GridView();
+    private final int wordLength;
+    private GridView grid;
     private JButton newGameButton = new JButton("New Game");
+    private JButton hintButton = new JButton("Hint");
+    private JLabel hintLabel;
+    private JLabel wordsLeftLabel;
     private KeyboardView keyboard;
     private JLabel warningLabel;
+    private SearchPanel searchPanel;
 
     public static Color colorForStatus(GuessStatus status) {
         if (status == null) return Color.lightGray;
@@ -216,11 +427,15 @@ public class RootView extends JFrame implements Observer {
         return status == GuessStatus.INCORRECT ? Color.white : Color.black;
     }
 
-    public RootView(Runnable onNewGameClicked, Consumer<Entry> onEntryChosen) {
+    public RootView(int wordLength, Runnable onNewGameClicked, Runnable onHintClicked, Consumer<Entry> onEntryChosen, Consumer<String> onSearch) {
+        this.wordLength = wordLength;
+        this.grid = new GridView(wordLength);
+
         setTitle("WORDLE");
         setSize(WIDTH, HEIGHT);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
+        frameTimer.setRepeats(false);
 
         getContentPane().setLayout(new BoxLayout(getContentPane(), BoxLayout.PAGE_AXIS));
 
@@ -229,24 +444,46 @@ public class RootView extends JFrame implements Observer {
             onNewGameClicked.run();
         });
         newGameButton.setEnabled(false);
-        newGameButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        add(newGameButton);
+
+        hintButton.addActionListener((e) -> {
+            requestFocusInWindow();
+            onHintClicked.run();
+        });
+
+        JPanel buttons = new JPanel();
+        buttons.setLayout(new BoxLayout(buttons, BoxLayout.LINE_AXIS));
+        buttons.add(newGameButton);
+        buttons.add(hintButton);
+        buttons.setAlignmentX(Component.CENTER_ALIGNMENT);
+        buttons.setMaximumSize(buttons.getPreferredSize());
+        add(buttons);
+
+        hintLabel = new JLabel("");
+        hintLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        add(hintLabel);
+
+        wordsLeftLabel = new JLabel("");
+        wordsLeftLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        add(wordsLeftLabel);
 
         warningLabel = new JLabel("");
         warningLabel.setForeground(Color.red);
         warningLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         add(warningLabel);
 
-        grid.setSize(60*5, 60*6);
-        grid.setMaximumSize(new Dimension(60 * 5, 60 * 6));
+        grid.setSize(60 * wordLength, 60 * 6);
+        grid.setMaximumSize(new Dimension(60 * wordLength, 60 * 6));
         add(grid);
 
         this.keyboard = new KeyboardView((e) -> {
-            requestFocusInWindow(); // Stop the button stealing focus from the window and stopping keyboard entry.
+            requestFocusInWindow(); // Take focus back from any button or field so keyboard entry reaches the window.
             onEntryChosen.accept(e);
         });
         add(keyboard);
 
+        searchPanel = new SearchPanel(onSearch);
+        add(searchPanel);
+
         setFocusable(true);
         requestFocusInWindow();
         this.addKeyListener(new KeyListener() {
@@ -256,7 +493,10 @@ public class RootView extends JFrame implements Observer {
 
             @Override
             public void keyPressed(KeyEvent keyEvent) {
-                onEntryChosen.accept(Entry.fromKeyEvent(keyEvent));
+                Entry entry = Entry.fromKeyEvent(keyEvent);
+                if (entry != null) {
+                    onEntryChosen.accept(entry);
+                }
             }
 
             @Override
@@ -266,21 +506,85 @@ public class RootView extends JFrame implements Observer {
     }
 
     @Override
-    public void update(Observable observable, Object o) {
-        if (!(observable instanceof Model)) {
-            System.out.println("[WARNING] update of RootView with non-Model observable");
-            return;
+    public void gameChanged(GameEvent event) {
+        pendingEvents.add(event);
+
+        if (isFrameScheduled.compareAndSet(false, true)) {
+            EventQueue.invokeLater(frameTimer::restart);
         }
+    }
+
+    private void applyPendingEvents() {
+        isFrameScheduled.set(false);
+
+        long start = Metrics.start();
+        FlightEvents.ViewRefresh refresh = new FlightEvents.ViewRefresh();
+        refresh.begin();
 
-        System.out.println("[RootView] update");
+        GameEvent event;
+        int eventCount = 0;
+        while ((event = pendingEvents.poll()) != null) {
+            apply(event);
+            eventCount++;
+        }
 
-        Model model = (Model)observable;
-        grid.update(model.getGuesses(), model.getGuessInProgress());
-        newGameButton.setEnabled(!model.getGuesses().isEmpty());
-        keyboard.update(model.getAllCharacterStatuses());
+        refresh.eventCount = eventCount;
+        refresh.commit();
+        Metrics.VIEW_REFRESH.record(start);
+    }
+
+    private void apply(GameEvent event) {
+        if (event instanceof GameEvent.LetterTyped) {
+            GameEvent.LetterTyped typed = (GameEvent.LetterTyped)event;
+            grid.setCell(typed.row, typed.column, typed.letter, null);
+        }
+        else if (event instanceof GameEvent.LetterDeleted) {
+            GameEvent.LetterDeleted deleted = (GameEvent.LetterDeleted)event;
+            grid.clearCell(deleted.row, deleted.column);
+        }
+        else if (event instanceof GameEvent.PrefixValidityChanged) {
+            GameEvent.PrefixValidityChanged changed = (GameEvent.PrefixValidityChanged)event;
+            grid.setRowHighlighted(changed.row, !changed.isValid);
+        }
+        else if (event instanceof GameEvent.GuessScored) {
+            GameEvent.GuessScored scored = (GameEvent.GuessScored)event;
+            grid.setRowHighlighted(scored.row, false);
+            for (int i = 0; i < wordLength; i++) {
+                grid.setCell(scored.row, i, Feedback.letterAt(scored.packedGuess, i), Feedback.statusAt(scored.code, i));
+            }
+            keyboard.record(scored.packedGuess, scored.code, wordLength);
+            newGameButton.setEnabled(true);
+            hintButton.setEnabled(!scored.isGameFinished);
+            showHint(null);
+            showWordsLeft(scored.remainingCount);
+        }
+        else if (event instanceof GameEvent.GameReset) {
+            grid.clear();
+            keyboard.clear();
+            newGameButton.setEnabled(false);
+            hintButton.setEnabled(true);
+            showHint(null);
+            showWordsLeft(((GameEvent.GameReset)event).remainingCount);
+        }
+    }
+
+    public void showWordsLeft(int count) {
+        wordsLeftLabel.setText(count + " words left");
     }
 
     public void showWarning(String warning) {
         warningLabel.setText(warning == null ? "" : warning);
     }
-}
\ No newline at end of file
+
+    public void showSearchResults(SearchResults results) {
+        searchPanel.showResults(results);
+    }
+
+    public void showSearchError(String error) {
+        searchPanel.showError(error);
+    }
+
+    public void showHint(List<String> suggestions) {
+        hintLabel.setText(suggestions == null ? "" : "Try: " + String.join(", ", suggestions));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,221 @@
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * The entry point to the headless server version of the game. The server
+ * hosts any number of games, each identified by a session ID, and accepts
+ * connections on a local TCP port. Each connection is served by its own
+ * thread and speaks a line-based protocol, one command per line:
+ *
+ *   NEW [flags...]          starts a game (flags as for the CLI, default -r -v)
+ *   GUESS session word      makes a guess
+ *   HINT session [k]        suggests up to k guesses
+ *   STATE session           describes the game
+ *   STATS                   reports the hint cache statistics
+ *   END session             ends the game and reveals the target (? if an
+ *                           Absurdle game had not yet chosen one)
+ *   QUIT                    closes the connection
+ *
+ * Every reply is one line starting with OK or ERR. Feedback for a guess is
+ * written one character per tile: G (correct), Y (misplaced) or . (incorrect).
+ * Games that have not been touched for the idle timeout are discarded.
+ */
+public class Server {
+    private static final int DEFAULT_PORT = 4567;
+    private static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 30 * 60;
+    private static final String[] DEFAULT_FLAGS = { "-r", "-v" };
+
+    // Server [port] [idle timeout in seconds]
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        long idleTimeout = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_IDLE_TIMEOUT_SECONDS;
+
+        Server server = new Server(TimeUnit.SECONDS.toMillis(idleTimeout));
+        try {
+            server.run(port);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * A game and the time it was last used.
+     */
+    private static final class Session {
+        final Model model;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        Session(Model model) {
+            this.model = model;
+        }
+    }
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final long idleTimeoutMillis;
+
+    public Server(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Accepts connections on the given port until the process is stopped.
+     */
+    public void run(int port) throws IOException {
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeoutMillis / 4);
+        evictor.scheduleAtFixedRate(this::evictIdleSessions, period, period, TimeUnit.MILLISECONDS);
+
+        ExecutorService connections = newThreadPerTaskExecutor();
+
+        try (ServerSocket socket = new ServerSocket(port)) {
+            System.out.println("WORDLE SERVER listening on port " + socket.getLocalPort());
+
+            while (true) {
+                Socket connection = socket.accept();
+                connections.execute(() -> serve(connection));
+            }
+        } finally {
+            connections.shutdownNow();
+            evictor.shutdownNow();
+        }
+    }
+
+    /**
+     * Removes every session that has been idle for longer than the timeout.
+     */
+    public void evictIdleSessions() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        sessions.values().removeIf(session -> session.lastUsed < cutoff);
+    }
+
+    private void serve(Socket connection) {
+        try (Socket socket = connection;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII), true)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("QUIT")) {
+                    break;
+                }
+                out.println(handle(line));
+            }
+        } catch (IOException e) {
+            // The client went away; its sessions stay until they are evicted
+        }
+    }
+
+    /**
+     * Runs one protocol command and returns the reply line.
+     */
+    public String handle(String line) {
+        String[] parts = line.trim().split("\\s+");
+        String command = parts[0].toUpperCase();
+
+        try {
+            if (command.equals("NEW")) {
+                String[] flags = parts.length > 1 ? Arrays.copyOfRange(parts, 1, parts.length) : DEFAULT_FLAGS;
+                return "OK " + newSession(new Model(flags));
+            }
+
+            if (command.equals("STATS")) {
+                return "OK " + WordRepository.shared().getHintCache();
+            }
+
+            if (parts.length < 2) {
+                return "ERR missing session";
+            }
+
+            Session session = sessions.get(parts[1]);
+            if (session == null) {
+                return "ERR unknown session";
+            }
+            session.lastUsed = System.currentTimeMillis();
+
+            synchronized (session) {
+                switch (command) {
+                    case "GUESS": return parts.length < 3 ? "ERR missing word" : guess(session.model, parts[2]);
+                    case "HINT": return hint(session.model, parts.length < 3 ? 1 : Integer.parseInt(parts[2]));
+                    case "STATE": return state(session.model);
+                    case "END":
+                        sessions.remove(parts[1]);
+                        String targetWord = session.model.getTargetWord();
+                        return "OK " + (targetWord == null ? "?" : targetWord);
+                    default: return "ERR unknown command";
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    private String newSession(Model model) {
+        while (true) {
+            String id = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+            if (sessions.putIfAbsent(id, new Session(model)) == null) {
+                return id;
+            }
+        }
+    }
+
+    private static String guess(Model model, String word) {
+        if (model.isGameFinished()) {
+            return "ERR game finished";
+        }
+        if (word.length() != model.getWordLength() || !word.matches("[a-zA-Z]+")) {
+            return "ERR guess must be " + model.getWordLength() + " letters";
+        }
+        if (model.shouldValidateWord() && !model.isValidGuess(word)) {
+            return "ERR not in word list";
+        }
+        String violation = model.hardModeViolation(word);
+        if (violation != null) {
+            return "ERR " + violation.toLowerCase();
+        }
+
+        model.makeGuess(word);
+
+        List<List<GuessItem>> guesses = model.getGuesses();
+        StringBuilder tiles = new StringBuilder();
+        for (GuessItem item: guesses.get(guesses.size() - 1)) {
+            tiles.append(item.status == GuessStatus.CORRECT ? 'G' : item.status == GuessStatus.MISPLACED ? 'Y' : '.');
+        }
+
+        return "OK " + tiles + " " + state(model).substring(3);
+    }
+
+    private static String hint(Model model, int k) {
+        return "OK " + String.join(" ", model.suggestGuesses(Math.max(1, Math.min(k, 10))));
+    }
+
+    private static String state(Model model) {
+        String status = !model.isGameFinished() ? "PLAYING" : model.isGameWon() ? "WON" : "LOST";
+        return "OK " + status + " " + model.getRemainingGuesses() + " " + model.remainingCount();
+    }
+
+    /**
+     * Returns an executor that starts a new virtual thread for each task when
+     * the JDK supports them (Java 21 and later), and a new platform thread
+     * otherwise.
+     */
+    private static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * The entry point to the batch simulation mode. Plays one game for every
+ * target word with a guessing strategy, spreading the games across all
+ * cores, and reports how many guesses the games took.
+ */
+public class Simulate {
+    private static final Map<String, Strategy> STRATEGIES = Map.of(
+        "entropy", new EntropyStrategy(),
+        "candidate", new CandidateStrategy()
+    );
+
+    // Simulate [entropy | candidate | fully.qualified.StrategyClass]
+    public static void main(String[] args) {
+        String name = args.length > 0 ? args[0] : "entropy";
+        Strategy strategy = STRATEGIES.get(name);
+
+        if (strategy == null) {
+            try {
+                strategy = (Strategy)Class.forName(name).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                System.out.println("Unknown strategy: " + name + " (expected one of " + STRATEGIES.keySet() + " or a Strategy class)");
+                return;
+            }
+        }
+
+        try {
+            new Simulate(strategy).run(name);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private final Strategy strategy;
+
+    public Simulate(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Plays every target word and prints a report.
+     */
+    public void run(String name) throws IOException {
+        int[] targetWords = WordRepository.shared().getPackedTargetWords();
+        AtomicIntegerArray distribution = new AtomicIntegerArray(7); // index 0 counts failures
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        IntStream.range(0, targetWords.length).parallel().forEach(t -> {
+            String target = Feedback.unpack(targetWords[t]);
+            int guesses = play(target);
+            distribution.incrementAndGet(guesses);
+            if (guesses == 0) {
+                failures.add(target);
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int games = targetWords.length;
+        int won = games - distribution.get(0);
+        long totalGuesses = 0;
+        for (int i = 1; i < distribution.length(); i++) {
+            totalGuesses += (long)i * distribution.get(i);
+        }
+
+        System.out.println("STRATEGY: " + name);
+        System.out.println();
+        System.out.printf("Games:     %d%n", games);
+        System.out.printf("Won:       %d (%.2f%%)%n", won, 100.0 * won / games);
+        System.out.printf("Average:   %.3f guesses per win%n", won == 0 ? 0.0 : (double)totalGuesses / won);
+        System.out.println();
+        for (int i = 1; i < distribution.length(); i++) {
+            System.out.printf("%d: %5d %s%n", i, distribution.get(i), "#".repeat((int)Math.ceil(60.0 * distribution.get(i) / games)));
+        }
+        System.out.printf("X: %5d%n", distribution.get(0));
+        System.out.println();
+        if (!failures.isEmpty()) {
+            System.out.println("Failures:  " + String.join(", ", List.copyOf(failures)));
+        }
+        System.out.printf("Time:      %.2f s (%.1f games/s)%n", seconds, games / seconds);
+    }
+
+    /**
+     * Plays one game and returns the number of guesses it took to win, or 0
+     * if the game was lost.
+     */
+    private int play(String target) {
+        Model model;
+        try {
+            model = new Model(new String[] {  });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        model.reset(target);
+
+        while (!model.isGameFinished()) {
+            model.makeGuess(strategy.nextGuess(model));
+        }
+
+        return model.isGameWon() ? model.getGuesses().size() : 0;
+    }
+}
@@ -0,0 +1,218 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ranks allowed guesses by the expected information (in bits) they reveal
+ * about the target, given the target words that are still possible. Each
+ * guess is scored independently, so the guess list is split across the
+ * common fork-join pool.
+ */
+final class Solver {
+    private static final int GUESSES_PER_TASK = 512;
+
+    private final FeedbackMatrix matrix;
+    private final double[] weightedLog; // weightedLog[n] = n * log2(n)
+    private volatile int[] openingRanking; // the ranking when every target is possible, which never changes
+
+    public Solver(FeedbackMatrix matrix) {
+        this.matrix = matrix;
+        this.weightedLog = new double[matrix.getTargetCount() + 1];
+
+        for (int n = 1; n < weightedLog.length; n++) {
+            weightedLog[n] = n * (Math.log(n) / Math.log(2));
+        }
+    }
+
+    /**
+     * Returns the indices of the k best guesses, best first. The candidates
+     * array holds the indices of the target words that are still possible.
+     * When only one or two candidates are left they are returned directly,
+     * since guessing one of them is always at least as good.
+     */
+    public int[] rank(int[] candidates, int k) {
+        int targetCount = matrix.getTargetCount();
+        int guessCount = matrix.getGuessCount();
+        int offset = guessCount - targetCount; // guess index of target 0
+
+        if (candidates.length <= 2) {
+            int[] result = new int[Math.min(k, candidates.length)];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = offset + candidates[i];
+            }
+            return result;
+        }
+
+        boolean isOpening = candidates.length == targetCount;
+        if (isOpening && openingRanking != null && openingRanking.length >= k) {
+            return Arrays.copyOf(openingRanking, k);
+        }
+
+        double[] scores = new double[guessCount];
+        ForkJoinPool.commonPool().invoke(new ScoreTask(new int[][] { candidates }, null, scores, 0, guessCount));
+
+        // Candidates that are also guesses get a small bonus since they might win outright
+        for (int candidate: candidates) {
+            scores[offset + candidate] += 1.0 / candidates.length;
+        }
+
+        int[] ranking = topK(scores, isOpening ? Math.max(k, 16) : k);
+
+        if (isOpening) {
+            openingRanking = ranking;
+        }
+
+        return ranking.length > k ? Arrays.copyOf(ranking, k) : ranking;
+    }
+
+    /**
+     * Returns the indices of the k best guesses from the first allowedCount
+     * guess indices in allowedGuesses, best first. This is used in hard mode,
+     * where only guesses that follow the revealed hints may be played.
+     */
+    public int[] rank(int[] candidates, int[] allowedGuesses, int allowedCount, int k) {
+        int guessCount = matrix.getGuessCount();
+        int offset = guessCount - matrix.getTargetCount();
+
+        // The candidates themselves always follow the hints
+        if (candidates.length <= 2) {
+            return rank(candidates, k);
+        }
+
+        double[] scores = new double[guessCount];
+        Arrays.fill(scores, Double.NEGATIVE_INFINITY);
+        ForkJoinPool.commonPool().invoke(new ScoreTask(new int[][] { candidates }, allowedGuesses, scores, 0, allowedCount));
+
+        for (int candidate: candidates) {
+            scores[offset + candidate] += 1.0 / candidates.length;
+        }
+
+        return topK(scores, Math.min(k, allowedCount));
+    }
+
+    /**
+     * Returns the indices of the k best guesses for several boards played at
+     * once, ranked by the total expected information over all of them. Each
+     * array in candidateSets holds the candidates still possible on one
+     * unsolved board. A board with a single candidate left is always
+     * suggested first, since guessing it solves that board outright.
+     */
+    public int[] rank(int[][] candidateSets, int k) {
+        int targetCount = matrix.getTargetCount();
+        int guessCount = matrix.getGuessCount();
+        int offset = guessCount - targetCount;
+
+        if (candidateSets.length == 1) {
+            return rank(candidateSets[0], k);
+        }
+
+        boolean isOpening = true;
+        for (int[] candidates: candidateSets) {
+            if (candidates.length == 1) {
+                return new int[] { offset + candidates[0] };
+            }
+            isOpening &= candidates.length == targetCount;
+        }
+
+        // Every board scores the same before the first guess
+        if (isOpening) {
+            return rank(candidateSets[0], k);
+        }
+
+        double[] scores = new double[guessCount];
+        ForkJoinPool.commonPool().invoke(new ScoreTask(candidateSets, null, scores, 0, guessCount));
+
+        for (int[] candidates: candidateSets) {
+            for (int candidate: candidates) {
+                scores[offset + candidate] += 1.0 / candidates.length;
+            }
+        }
+
+        return topK(scores, k);
+    }
+
+    /**
+     * Returns the expected information, in bits, of playing the guess at
+     * guessIndex against the given candidates.
+     */
+    public double expectedInformation(int guessIndex, int[] candidates) {
+        return expectedInformation(guessIndex, candidates, new int[Feedback.CODE_COUNT]);
+    }
+
+    private double expectedInformation(int guessIndex, int[] candidates, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (int candidate: candidates) {
+            counts[matrix.feedback(guessIndex, candidate)]++;
+        }
+
+        double sum = 0;
+        for (int count: counts) {
+            sum += weightedLog[count];
+        }
+
+        int n = candidates.length;
+        return (weightedLog[n] - sum) / n;
+    }
+
+    private static int[] topK(double[] scores, int k) {
+        k = Math.min(k, scores.length);
+        int[] best = new int[k];
+        int size = 0;
+
+        // Insertion into a small sorted array, which is cheap for the handful of hints we need
+        for (int i = 0; i < scores.length; i++) {
+            if (size == k && scores[i] <= scores[best[k - 1]]) {
+                continue;
+            }
+
+            int j = size < k ? size++ : k - 1;
+            while (j > 0 && scores[best[j - 1]] < scores[i]) {
+                best[j] = best[j - 1];
+                j--;
+            }
+            best[j] = i;
+        }
+
+        return best;
+    }
+
+    /**
+     * Scores the guesses in [from, to) against every candidate set, splitting
+     * the range until it is small enough to score directly. If guesses is not
+     * null the range is over that array of guess indices instead.
+     */
+    private final class ScoreTask extends RecursiveAction {
+        private final int[][] candidateSets;
+        private final int[] guesses;
+        private final double[] scores;
+        private final int from;
+        private final int to;
+
+        ScoreTask(int[][] candidateSets, int[] guesses, double[] scores, int from, int to) {
+            this.candidateSets = candidateSets;
+            this.guesses = guesses;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GUESSES_PER_TASK) {
+                int[] counts = new int[Feedback.CODE_COUNT];
+                for (int i = from; i < to; i++) {
+                    int g = guesses == null ? i : guesses[i];
+                    double score = 0;
+                    for (int[] candidates: candidateSets) {
+                        score += expectedInformation(g, candidates, counts);
+                    }
+                    scores[g] = score;
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScoreTask(candidateSets, guesses, scores, from, middle), new ScoreTask(candidateSets, guesses, scores, middle, to));
+        }
+    }
+}
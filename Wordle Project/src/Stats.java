@@ -0,0 +1,56 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The entry point that prints statistics over every game recorded in the
+ * game journal.
+ */
+public class Stats {
+    private static final int HARDEST_COUNT = 10;
+    private static final int HARDEST_MINIMUM_PLAYS = 1;
+
+    // Stats [journal file]
+    public static void main(String[] args) {
+        Path file = args.length > 0 ? Paths.get(args[0]) : WordRepository.cacheFile(GameJournal.FILENAME);
+
+        try (GameJournal journal = GameJournal.open(file)) {
+            int[] targetWords = WordRepository.shared().getPackedTargetWords();
+
+            long start = System.nanoTime();
+            JournalStats stats = journal.stats(targetWords.length);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            print(stats, targetWords);
+            System.out.println();
+            System.out.printf("Read %d games in %.3f s%n", stats.getGames(), seconds);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Prints the statistics in the same layout as the batch simulation report.
+     */
+    public static void print(JournalStats stats, int[] targetWords) {
+        System.out.printf("Played:    %d%n", stats.getGames());
+        System.out.printf("Won:       %d (%.2f%%)%n", stats.getWins(), stats.getWinPercentage());
+        System.out.printf("Streak:    %d (longest %d)%n", stats.getCurrentStreak(), stats.getLongestStreak());
+        System.out.println();
+
+        for (int i = 1; i <= 6; i++) {
+            long wins = stats.getWinsIn(i);
+            System.out.printf("%d: %5d %s%n", i, wins, "#".repeat(stats.getWins() == 0 ? 0 : (int)Math.ceil(60.0 * wins / stats.getWins())));
+        }
+        System.out.printf("X: %5d%n", stats.getGames() - stats.getWins());
+
+        int[] hardest = stats.hardestTargets(HARDEST_COUNT, HARDEST_MINIMUM_PLAYS);
+        if (hardest.length > 0) {
+            System.out.println();
+            System.out.println("Hardest words:");
+            for (int t: hardest) {
+                System.out.printf("  %s  %.2f guesses%n", Feedback.unpack(targetWords[t]), stats.averageGuesses(t));
+            }
+        }
+    }
+}
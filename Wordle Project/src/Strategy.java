@@ -0,0 +1,32 @@
+/**
+ * A way of choosing the next guess in a game, used by {@link Simulate}.
+ * Strategies only see what a player would: the feedback for the guesses
+ * made so far, and what can be derived from it through the model.
+ */
+interface Strategy {
+    /**
+     * Returns the next word to guess in the given unfinished game.
+     */
+    String nextGuess(Model model);
+}
+
+/**
+ * Always plays the guess the hint solver ranks highest.
+ */
+class EntropyStrategy implements Strategy {
+    @Override
+    public String nextGuess(Model model) {
+        return model.suggestGuesses(1).get(0);
+    }
+}
+
+/**
+ * Always plays the first target word that is still possible, which is
+ * roughly how a player who never uses hints plays.
+ */
+class CandidateStrategy implements Strategy {
+    @Override
+    public String nextGuess(Model model) {
+        return Feedback.unpack(model.getPackedTargetWords()[model.remainingCandidates()[0]]);
+    }
+}
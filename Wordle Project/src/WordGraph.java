@@ -0,0 +1,229 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A directed acyclic word graph over words of one length (five letters
+ * unless another length is given): a trie in which
+ * every set of identical subtrees is stored once, so the shared endings of
+ * words (-IGHT, -ATES and so on) cost one node each. It answers whether some
+ * word begins with a given prefix, one letter at a time, through a
+ * {@link PrefixCursor}.
+ *
+ * Each node is a 26-bit mask of the letters it has children for, and the
+ * offset of its first child in a shared array of children. The child for a
+ * letter is found by counting the bits of the mask below that letter, so a
+ * step costs a few instructions and no allocation.
+ */
+final class WordGraph {
+    static final int DEAD = -1; // the node for a prefix that no word begins with
+    private static final int END = 0; // the node after the last letter of a word
+
+    private final int wordLength;
+    private final int[] masks;
+    private final int[] firstChildren;
+    private final int[] children;
+    private final int root;
+
+    private WordGraph(int wordLength, int[] masks, int[] firstChildren, int[] children, int root) {
+        this.wordLength = wordLength;
+        this.masks = masks;
+        this.firstChildren = firstChildren;
+        this.children = children;
+        this.root = root;
+    }
+
+    /**
+     * Builds the graph for packed words in any order, ignoring duplicates.
+     */
+    public static WordGraph of(int[] packedWords) {
+        return of(packedWords, Feedback.WORD_LENGTH);
+    }
+
+    /**
+     * Builds the graph for packed words of the given length.
+     */
+    public static WordGraph of(int[] packedWords, int wordLength) {
+        Builder builder = new Builder(wordLength);
+        int[] words = packedWords.clone();
+        int root = builder.build(words, 0, words.length, 0, new int[words.length]);
+
+        return new WordGraph(wordLength, Arrays.copyOf(builder.masks, builder.nodeCount),
+                Arrays.copyOf(builder.firstChildren, builder.nodeCount),
+                Arrays.copyOf(builder.children, builder.childCount), root);
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int getNodeCount() {
+        return masks.length;
+    }
+
+    public int root() {
+        return root;
+    }
+
+    /**
+     * Returns the node reached from the given node by the letter (0 for A),
+     * or DEAD if no word continues that way.
+     */
+    public int child(int node, int letter) {
+        if (node == DEAD) {
+            return DEAD;
+        }
+
+        int mask = masks[node];
+        int bit = 1 << letter;
+        if ((mask & bit) == 0) {
+            return DEAD;
+        }
+
+        return children[firstChildren[node] + Integer.bitCount(mask & (bit - 1))];
+    }
+
+    /**
+     * Returns a new cursor at the start of a word.
+     */
+    public PrefixCursor newCursor() {
+        return new PrefixCursor(this);
+    }
+
+    /**
+     * Builds the graph bottom up, merging each node with any identical node
+     * built before it.
+     */
+    private static final class Builder {
+        private final int wordLength;
+        private final Map<String, Integer> nodesBySignature = new HashMap<>();
+        private int[] masks = new int[1 << 12];
+        private int[] firstChildren = new int[1 << 12];
+        private int[] children = new int[1 << 14];
+        private int nodeCount = 1; // node 0 is END
+        private int childCount = 0;
+
+        Builder(int wordLength) {
+            this.wordLength = wordLength;
+        }
+
+        /**
+         * Returns the node for the words in [from, to), which all share their
+         * first depth letters, sorting them by their next letter on the way.
+         */
+        int build(int[] words, int from, int to, int depth, int[] scratch) {
+            if (depth == wordLength) {
+                return END;
+            }
+
+            int[] starts = new int[27];
+            for (int i = from; i < to; i++) {
+                starts[Feedback.letterIndexAt(words[i], depth) + 1]++;
+            }
+            for (int letter = 0; letter < 26; letter++) {
+                starts[letter + 1] += starts[letter];
+            }
+
+            int[] next = Arrays.copyOf(starts, 26);
+            for (int i = from; i < to; i++) {
+                scratch[from + next[Feedback.letterIndexAt(words[i], depth)]++] = words[i];
+            }
+            System.arraycopy(scratch, from, words, from, to - from);
+
+            int mask = 0;
+            int[] nodeChildren = new int[26];
+            int count = 0;
+            for (int letter = 0; letter < 26; letter++) {
+                if (starts[letter + 1] > starts[letter]) {
+                    mask |= 1 << letter;
+                    nodeChildren[count++] = build(words, from + starts[letter], from + starts[letter + 1], depth + 1, scratch);
+                }
+            }
+
+            return intern(mask, nodeChildren, count);
+        }
+
+        private int intern(int mask, int[] nodeChildren, int count) {
+            StringBuilder signature = new StringBuilder().append(mask);
+            for (int c = 0; c < count; c++) {
+                signature.append(',').append(nodeChildren[c]);
+            }
+
+            Integer existing = nodesBySignature.get(signature.toString());
+            if (existing != null) {
+                return existing;
+            }
+
+            if (nodeCount == masks.length) {
+                masks = Arrays.copyOf(masks, nodeCount * 2);
+                firstChildren = Arrays.copyOf(firstChildren, nodeCount * 2);
+            }
+            if (childCount + count > children.length) {
+                children = Arrays.copyOf(children, Math.max(children.length * 2, childCount + count));
+            }
+
+            int node = nodeCount++;
+            masks[node] = mask;
+            firstChildren[node] = childCount;
+            System.arraycopy(nodeChildren, 0, children, childCount, count);
+            childCount += count;
+
+            nodesBySignature.put(signature.toString(), node);
+            return node;
+        }
+    }
+}
+
+/**
+ * The position of a word being typed in a {@link WordGraph}. The cursor
+ * keeps the node reached after each letter, so adding or removing a letter
+ * is one step and never allocates.
+ */
+final class PrefixCursor {
+    private final WordGraph graph;
+    private final int[] nodes; // nodes[i] is reached after i letters
+    private int length = 0;
+
+    PrefixCursor(WordGraph graph) {
+        this.graph = graph;
+        this.nodes = new int[graph.getWordLength() + 1];
+        nodes[0] = graph.root();
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Adds a letter (0 for A) to the end of the prefix.
+     */
+    public void push(int letter) {
+        assert length < nodes.length - 1 : "Prefixes cannot be longer than a word";
+
+        nodes[length + 1] = graph.child(nodes[length], letter);
+        length++;
+    }
+
+    /**
+     * Removes the last letter of the prefix.
+     */
+    public void pop() {
+        assert length > 0 : "The prefix is already empty";
+
+        length--;
+    }
+
+    /**
+     * Removes letters from the end until the prefix is the given length.
+     */
+    public void truncate(int newLength) {
+        length = Math.min(length, newLength);
+    }
+
+    /**
+     * Returns true if at least one word begins with the prefix.
+     */
+    public boolean isValid() {
+        return nodes[length] != WordGraph.DEAD;
+    }
+}
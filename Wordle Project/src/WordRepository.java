@@ -0,0 +1,436 @@
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The word lists and everything derived from them, loaded once per process
+ * and shared by every game. Each list is read from the directory named by
+ * the wordle.dir system property if it is set, then from the classpath if
+ * it is there, and otherwise from the working directory. Lists stored as
+ * plain files are memory-mapped rather than read line by line. The cache
+ * files derived from them are kept in the wordle.dir directory if it is
+ * set, and otherwise in the working directory.
+ *
+ * Only the target words are needed to start a game. The valid words are
+ * loaded the first time something asks for them, in parallel with the
+ * target words if those have not finished loading yet.
+ *
+ * There is one repository per word length. Five-letter words come from the
+ * word lists above. Words of any other length come from the dictionary
+ * {@link Ingest} wrote for that length, which is used both for the targets
+ * and for the allowed guesses; the feedback matrix, the solver and the
+ * decision tree are only available for five-letter words.
+ */
+final class WordRepository {
+    public static final String TARGET_POOL_FILENAME = "common.txt";
+    public static final String VALID_POOL_FILENAME = "words.txt";
+    public static final String DIRECTORY_PROPERTY = "wordle.dir";
+
+    private static final WordRepository[] shared = new WordRepository[Feedback.MAX_WORD_LENGTH + 1]; // by word length
+
+    private final int wordLength;
+    private final Path ingestedDirectory; // where Ingest wrote its dictionaries
+    private final CompletableFuture<int[]> targetWords;
+    private CompletableFuture<int[]> validPoolWords;
+    private int[] guessWords;
+    private long[] guessIndex; // (packed word << 32) | guess index, sorted
+    private Dictionary validWords;
+    private Dictionary ingestedWords; // null if Ingest wrote none of this length
+    private boolean isIngestedLoaded = false;
+    private CandidateIndex candidateIndex;
+    private WordSearch wordSearch;
+    private WordGraph wordGraph;
+    private FeedbackMatrix feedbackMatrix;
+    private Solver solver;
+    private DecisionTree decisionTree;
+    private HintCache hintCache;
+    private boolean isDecisionTreeLoaded = false;
+
+    private WordRepository(int wordLength, Path ingestedDirectory) {
+        this.wordLength = wordLength;
+        this.ingestedDirectory = ingestedDirectory;
+        if (wordLength == Feedback.WORD_LENGTH) {
+            targetWords = CompletableFuture.supplyAsync(() -> readWords(TARGET_POOL_FILENAME));
+        } else {
+            targetWords = CompletableFuture.supplyAsync(() -> readIngestedWords(ingestedFile()));
+        }
+    }
+
+    /**
+     * Returns the repository of five-letter words shared by the whole
+     * process.
+     */
+    public static WordRepository shared() {
+        return shared(Feedback.WORD_LENGTH);
+    }
+
+    /**
+     * Returns the repository of words of the given length shared by the
+     * whole process.
+     */
+    public static synchronized WordRepository shared(int wordLength) {
+        assert wordLength > 0 && wordLength <= Feedback.MAX_WORD_LENGTH : "Words cannot be longer than " + Feedback.MAX_WORD_LENGTH + " letters";
+
+        if (shared[wordLength] == null) {
+            shared[wordLength] = new WordRepository(wordLength, cacheFile(""));
+        }
+
+        return shared[wordLength];
+    }
+
+    /**
+     * Returns a new repository, not shared, of words of the given length
+     * that reads the dictionaries written by {@link Ingest} from the given
+     * directory rather than from where the game keeps its caches.
+     */
+    static WordRepository withIngestedDirectory(int wordLength, Path directory) {
+        return new WordRepository(wordLength, directory);
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    /**
+     * Returns the packed possible target words, from common.txt for
+     * five-letter words.
+     */
+    public int[] getPackedTargetWords() throws IOException {
+        return join(targetWords);
+    }
+
+    /**
+     * Returns the packed allowed guesses: for five-letter words, words.txt
+     * followed by common.txt and then any words written by {@link Ingest}
+     * that neither list holds; for any other length, the target words. The
+     * same words make up getValidWords, so search, hints and the feedback
+     * matrix see every guess the game accepts.
+     */
+    public synchronized int[] getPackedGuessWords() throws IOException {
+        if (guessWords == null && wordLength != Feedback.WORD_LENGTH) {
+            guessWords = getPackedTargetWords();
+        }
+
+        if (guessWords == null) {
+            int[] validPool = join(validPoolWords());
+            int[] targets = getPackedTargetWords();
+
+            int[] words = Arrays.copyOf(validPool, validPool.length + targets.length);
+            System.arraycopy(targets, 0, words, validPool.length, targets.length);
+
+            Dictionary ingested = getIngestedWords();
+            if (ingested != null) {
+                Dictionary listed = Dictionary.of(words);
+                int[] extra = ingested.toPackedInts();
+                int extraCount = 0;
+                for (int word: extra) {
+                    if (!listed.contains(word)) {
+                        extra[extraCount++] = word;
+                    }
+                }
+
+                words = Arrays.copyOf(words, words.length + extraCount);
+                System.arraycopy(extra, 0, words, validPool.length + targets.length, extraCount);
+            }
+
+            guessWords = words;
+        }
+
+        return guessWords;
+    }
+
+    /**
+     * Returns the dictionary of allowed guesses. When both lists are plain
+     * files this goes through the binary dictionary file and skips parsing
+     * words.txt altogether. Words of the game's length written by
+     * {@link Ingest} are allowed as well.
+     */
+    public synchronized Dictionary getValidWords() throws IOException {
+        if (validWords == null && wordLength != Feedback.WORD_LENGTH) {
+            validWords = Dictionary.of(getPackedGuessWords(), wordLength);
+        }
+
+        if (validWords == null) {
+            Path validPool = locate(VALID_POOL_FILENAME);
+            Path targetPool = locate(TARGET_POOL_FILENAME);
+
+            if (validPool != null && targetPool != null) {
+                validWords = Dictionary.load(cacheFile(Dictionary.FILENAME), validPool, targetPool);
+            } else {
+                validWords = Dictionary.of(getPackedGuessWords());
+            }
+
+            Dictionary ingested = getIngestedWords();
+            if (ingested != null) {
+                validWords = validWords.union(ingested);
+            }
+        }
+
+        return validWords;
+    }
+
+    /**
+     * Returns the index of a packed word among the allowed guesses (see
+     * getPackedGuessWords), or -1 if it is not an allowed guess.
+     */
+    public int guessIndexOf(int packedWord) throws IOException {
+        long[] index = guessIndex();
+        int i = Arrays.binarySearch(index, (long)packedWord << 32);
+        if (i < 0) {
+            i = -i - 1;
+        }
+
+        return i < index.length && (int)(index[i] >>> 32) == packedWord ? (int)index[i] : -1;
+    }
+
+    public synchronized CandidateIndex getCandidateIndex() throws IOException {
+        if (candidateIndex == null) {
+            candidateIndex = new CandidateIndex(getPackedTargetWords(), wordLength);
+        }
+
+        return candidateIndex;
+    }
+
+    /**
+     * Returns the search over every allowed guess, indexed the first time it
+     * is asked for.
+     */
+    public synchronized WordSearch getWordSearch() throws IOException {
+        if (wordSearch == null) {
+            wordSearch = new WordSearch(getPackedGuessWords(), wordLength);
+        }
+
+        return wordSearch;
+    }
+
+    /**
+     * Returns the word graph of every word in getValidWords, for checking
+     * prefixes as they are typed.
+     */
+    public synchronized WordGraph getWordGraph() throws IOException {
+        if (wordGraph == null) {
+            wordGraph = WordGraph.of(getValidWords().toPackedInts(), wordLength);
+        }
+
+        return wordGraph;
+    }
+
+    /**
+     * Returns the feedback matrix for five-letter words. Throws an
+     * IllegalStateException for any other length.
+     */
+    public synchronized FeedbackMatrix getFeedbackMatrix() throws IOException {
+        if (wordLength != Feedback.WORD_LENGTH) {
+            throw new IllegalStateException("The feedback matrix only holds five-letter words");
+        }
+
+        if (feedbackMatrix == null) {
+            feedbackMatrix = FeedbackMatrix.load(cacheFile(FeedbackMatrix.CACHE_FILENAME), getPackedGuessWords(), getPackedTargetWords());
+        }
+
+        return feedbackMatrix;
+    }
+
+    public synchronized Solver getSolver() throws IOException {
+        if (solver == null) {
+            solver = new Solver(getFeedbackMatrix());
+        }
+
+        return solver;
+    }
+
+    /**
+     * Returns the decision tree built by {@link BuildTree}, or null if it has
+     * not been built for the current word lists. There is never a tree for
+     * words of other lengths.
+     */
+    public synchronized DecisionTree getDecisionTree() throws IOException {
+        if (!isDecisionTreeLoaded && wordLength == Feedback.WORD_LENGTH) {
+            decisionTree = DecisionTree.load(cacheFile(DecisionTree.FILENAME), getPackedGuessWords(), getPackedTargetWords());
+            isDecisionTreeLoaded = true;
+        }
+
+        return decisionTree;
+    }
+
+    /**
+     * Returns the hint cache shared by every game in the process.
+     */
+    public synchronized HintCache getHintCache() {
+        if (hintCache == null) {
+            hintCache = HintCache.withDefaultBudget();
+        }
+
+        return hintCache;
+    }
+
+    private synchronized long[] guessIndex() throws IOException {
+        if (guessIndex == null) {
+            int[] words = getPackedGuessWords();
+            long[] index = new long[words.length];
+            for (int i = 0; i < words.length; i++) {
+                index[i] = (long)words[i] << 32 | i; // packed words are positive, so this sorts by word
+            }
+            Arrays.sort(index);
+            guessIndex = index;
+        }
+
+        return guessIndex;
+    }
+
+    private synchronized CompletableFuture<int[]> validPoolWords() {
+        if (validPoolWords == null) {
+            validPoolWords = CompletableFuture.supplyAsync(() -> readWords(VALID_POOL_FILENAME));
+        }
+
+        return validPoolWords;
+    }
+
+    private static int[] join(CompletableFuture<int[]> words) throws IOException {
+        try {
+            return words.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException)e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the path of a word list, or null if it is only available inside
+     * a jar.
+     */
+    private static Path locate(String filename) {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory != null) {
+            return Paths.get(directory, filename);
+        }
+
+        URL resource = WordRepository.class.getResource("/" + filename);
+
+        if (resource != null) {
+            if (!resource.getProtocol().equals("file")) {
+                return null;
+            }
+
+            try {
+                return Paths.get(resource.toURI());
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+
+        return Paths.get(filename);
+    }
+
+    /**
+     * Returns the path of a file the game writes for itself, such as a cache
+     * or the game journal.
+     */
+    static Path cacheFile(String filename) {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        return directory == null ? Paths.get(filename) : Paths.get(directory, filename);
+    }
+
+    private static int[] readWords(String filename) {
+        try {
+            Path path = locate(filename);
+
+            if (path != null) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    return parseWords(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                }
+            }
+
+            try (InputStream stream = WordRepository.class.getResourceAsStream("/" + filename)) {
+                return parseWords(ByteBuffer.wrap(stream.readAllBytes()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the five-letter words written by {@link Ingest}, or null if
+     * there are none.
+     */
+    private synchronized Dictionary getIngestedWords() throws IOException {
+        if (!isIngestedLoaded) {
+            ingestedWords = Dictionary.loadIngested(ingestedFile(), wordLength);
+            isIngestedLoaded = true;
+        }
+
+        return ingestedWords;
+    }
+
+    /**
+     * Returns the path of the dictionary {@link Ingest} writes for this
+     * repository's word length.
+     */
+    private Path ingestedFile() {
+        return ingestedDirectory.resolve(Dictionary.ingestedFilename(wordLength));
+    }
+
+    /**
+     * Reads the words written by {@link Ingest} to the given file.
+     */
+    private int[] readIngestedWords(Path file) {
+        try {
+            Dictionary dictionary = Dictionary.loadIngested(file, wordLength);
+            if (dictionary == null || dictionary.size() == 0) {
+                throw new IOException("No " + wordLength + "-letter words found: run Ingest on a word list first");
+            }
+
+            return dictionary.toPackedInts();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Packs the words in an ASCII word list, one per line, without creating
+     * a String for each line. Blank lines and surrounding whitespace are
+     * ignored.
+     */
+    static int[] parseWords(ByteBuffer buffer) {
+        int[] words = new int[buffer.remaining() / (Feedback.WORD_LENGTH + 1) + 1];
+        int count = 0;
+        int packed = 0;
+        int length = 0;
+
+        while (true) {
+            int b = buffer.hasRemaining() ? buffer.get() : '\n';
+
+            if (b == '\n') {
+                if (length > 0) {
+                    assert length == Feedback.WORD_LENGTH : "Words must be of length 5";
+                    if (count == words.length) {
+                        words = Arrays.copyOf(words, count * 2);
+                    }
+                    words[count++] = packed;
+                }
+
+                packed = 0;
+                length = 0;
+
+                if (!buffer.hasRemaining()) {
+                    break;
+                }
+            } else if (Character.isLetter(b)) {
+                if (length < Feedback.WORD_LENGTH) {
+                    packed |= (Character.toUpperCase(b) - 'A') << (length * 5);
+                }
+                length++;
+            }
+        }
+
+        return Arrays.copyOf(words, count);
+    }
+}
@@ -0,0 +1,278 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Answers pattern queries over a word list, such as "A?D?O +R -E 3!S" (see
+ * {@link WordQuery}). The words are sorted alphabetically and indexed once
+ * by a {@link CandidateIndex}, so a query is a few AND operations over
+ * bitsets of about 200 longs each, and never touches a String. The words
+ * are five letters long unless another length is given.
+ */
+final class WordSearch {
+    private final int wordLength;
+    private final int[] words; // packed, in alphabetical order
+    private final CandidateIndex index;
+
+    public WordSearch(int[] packedWords) {
+        this(packedWords, Feedback.WORD_LENGTH);
+    }
+
+    public WordSearch(int[] packedWords, int wordLength) {
+        this.wordLength = wordLength;
+
+        // Reversing the letters makes int order alphabetical, and reversing them again undoes it
+        int[] sorted = new int[packedWords.length];
+        for (int i = 0; i < packedWords.length; i++) {
+            sorted[i] = reverseLetters(packedWords[i]);
+        }
+        Arrays.sort(sorted);
+
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+
+        words = new int[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = reverseLetters(sorted[i]);
+        }
+        index = new CandidateIndex(words, wordLength);
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int getWordCount() {
+        return words.length;
+    }
+
+    /**
+     * Returns the words matching the query. The matches are found up front,
+     * but no String is created until a result is read.
+     */
+    public SearchResults search(WordQuery query) {
+        assert query.letterAt.length == wordLength : "The query must be parsed for words of length " + wordLength;
+
+        long[] bits = index.all().clone();
+
+        for (int i = 0; i < wordLength; i++) {
+            if (query.letterAt[i] >= 0) {
+                and(bits, index.letterAtPosition(i, query.letterAt[i]));
+            }
+            for (int letter = 0; letter < WordQuery.LETTERS; letter++) {
+                if ((query.bannedAt[i] & (1 << letter)) != 0) {
+                    andNot(bits, index.letterAtPosition(i, letter));
+                }
+            }
+        }
+
+        for (int letter = 0; letter < WordQuery.LETTERS; letter++) {
+            int minimum = query.minimumCounts[letter];
+            if (minimum > wordLength) {
+                Arrays.fill(bits, 0);
+            } else if (minimum > 0) {
+                and(bits, index.letterAtLeast(letter, minimum));
+            }
+            if ((query.excluded & (1 << letter)) != 0) {
+                andNot(bits, index.letterAtLeast(letter, 1));
+            }
+        }
+
+        return new SearchResults(words, bits, wordLength);
+    }
+
+    private static void and(long[] bits, long[] other) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= other[i];
+        }
+    }
+
+    private static void andNot(long[] bits, long[] other) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= ~other[i];
+        }
+    }
+
+    private int reverseLetters(int packed) {
+        int reversed = 0;
+        for (int i = 0; i < wordLength; i++) {
+            reversed |= Feedback.letterIndexAt(packed, i) << ((wordLength - 1 - i) * 5);
+        }
+
+        return reversed;
+    }
+}
+
+/**
+ * A parsed word search. A query is any number of terms separated by spaces:
+ *
+ *   A?D?O     letters at fixed positions, with ? (or .) for any letter
+ *   +RT       contains R and T (+EE contains at least two Es)
+ *   -E        does not contain E
+ *   3!S       the 3rd letter is not S
+ *
+ * A pattern of fixed letters must be as long as the words searched.
+ */
+final class WordQuery {
+    static final int LETTERS = 26;
+
+    final int[] letterAt; // -1 for any letter
+    final int[] bannedAt; // letter masks
+    final int[] minimumCounts = new int[LETTERS];
+    int excluded = 0; // letter mask
+
+    private WordQuery(int wordLength) {
+        letterAt = new int[wordLength];
+        bannedAt = new int[wordLength];
+        Arrays.fill(letterAt, -1);
+    }
+
+    /**
+     * Parses a query, throwing an IllegalArgumentException that names the
+     * first term that could not be understood.
+     */
+    public static WordQuery parse(String query) {
+        return parse(query, Feedback.WORD_LENGTH);
+    }
+
+    /**
+     * Parses a query over words of the given length.
+     */
+    public static WordQuery parse(String query, int wordLength) {
+        WordQuery parsed = new WordQuery(wordLength);
+
+        for (String term: query.trim().toUpperCase().split("\\s+")) {
+            if (term.isEmpty()) {
+                continue;
+            }
+
+            if (term.length() == wordLength && term.matches("[A-Z?.]+")) {
+                for (int i = 0; i < wordLength; i++) {
+                    char c = term.charAt(i);
+                    if (Character.isLetter(c)) {
+                        parsed.letterAt[i] = c - 'A';
+                    }
+                }
+            } else if (term.matches("\\+[A-Z]+")) {
+                for (int i = 1; i < term.length(); i++) {
+                    parsed.minimumCounts[term.charAt(i) - 'A']++;
+                }
+            } else if (term.matches("-[A-Z]+")) {
+                parsed.excluded |= lettersIn(term, 1);
+            } else if (term.matches("[1-9]![A-Z]+") && term.charAt(0) - '0' <= wordLength) {
+                parsed.bannedAt[term.charAt(0) - '1'] |= lettersIn(term, 2);
+            } else {
+                throw new IllegalArgumentException("Unknown search term: " + term);
+            }
+        }
+
+        return parsed;
+    }
+
+    private static int lettersIn(String term, int from) {
+        int mask = 0;
+        for (int i = from; i < term.length(); i++) {
+            mask |= 1 << (term.charAt(i) - 'A');
+        }
+
+        return mask;
+    }
+}
+
+/**
+ * The words matching a search, held as a bitset over the searched words.
+ * Results are read a page at a time or through an iterator, and each word
+ * is only unpacked when it is read. Results never change once found, so
+ * they may be read from any thread.
+ */
+final class SearchResults implements Iterable<String> {
+    private final int[] words;
+    private final long[] bits;
+    private final int wordLength;
+    private final int count;
+
+    SearchResults(int[] words, long[] bits, int wordLength) {
+        this.words = words;
+        this.wordLength = wordLength;
+        this.bits = bits;
+
+        int count = 0;
+        for (long word: bits) {
+            count += Long.bitCount(word);
+        }
+        this.count = count;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the matches on the given page, counting from 0, with pageSize
+     * matches to a page.
+     */
+    public List<String> page(int page, int pageSize) {
+        List<String> matches = new ArrayList<>(pageSize);
+        Iterator<String> iterator = iteratorFrom((long)page * pageSize);
+        while (matches.size() < pageSize && iterator.hasNext()) {
+            matches.add(iterator.next());
+        }
+
+        return matches;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return iteratorFrom(0);
+    }
+
+    /**
+     * Returns an iterator starting at the nth match, skipping whole longs
+     * of the bitset by counting their bits.
+     */
+    private Iterator<String> iteratorFrom(long n) {
+        int start = 0;
+        long skip = n;
+        while (start < bits.length && Long.bitCount(bits[start]) <= skip) {
+            skip -= Long.bitCount(bits[start]);
+            start++;
+        }
+
+        long first = start < bits.length ? bits[start] : 0;
+        for (long i = 0; i < skip; i++) {
+            first &= first - 1;
+        }
+
+        int firstWord = start;
+        long firstBits = first;
+        return new Iterator<String>() {
+            private int word = firstWord;
+            private long remaining = firstBits;
+
+            @Override
+            public boolean hasNext() {
+                while (remaining == 0 && word + 1 < bits.length) {
+                    remaining = bits[++word];
+                }
+                return remaining != 0;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                int match = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return Feedback.unpack(words[match], wordLength);
+            }
+        };
+    }
+}